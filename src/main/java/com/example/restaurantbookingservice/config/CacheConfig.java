@@ -0,0 +1,67 @@
+package com.example.restaurantbookingservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.CompositeCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collections;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USER_DETAILS_CACHE = "userDetails";
+    public static final String RESTAURANTS_CACHE = "restaurants";
+    public static final String RESTAURANT_CACHE = "restaurant";
+
+    @Value("${restaurantbookingservice.app.cache.userDetails.maximumSize:10000}")
+    private long userDetailsMaximumSize;
+
+    @Value("${restaurantbookingservice.app.cache.userDetails.expireAfterWrite:10m}")
+    private Duration userDetailsExpireAfterWrite;
+
+    @Value("${restaurantbookingservice.app.cache.restaurants.enabled:true}")
+    private boolean restaurantsEnabled;
+
+    @Value("${restaurantbookingservice.app.cache.restaurants.maximumSize:10000}")
+    private long restaurantsMaximumSize;
+
+    // Writes evict locally; the expiry bounds how long other instances can serve a stale catalog.
+    @Value("${restaurantbookingservice.app.cache.restaurants.expireAfterWrite:10m}")
+    private Duration restaurantsExpireAfterWrite;
+
+    /**
+     * Caches are registered up front so that their hit, miss and eviction statistics are published as
+     * {@code cache.*} metrics. With the restaurant caches switched off their names resolve to no-op caches, so the
+     * annotated methods always reach the database.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(Collections.emptyList());
+        cacheManager.registerCustomCache(USER_DETAILS_CACHE, Caffeine.newBuilder()
+                .maximumSize(userDetailsMaximumSize)
+                .expireAfterWrite(userDetailsExpireAfterWrite)
+                .recordStats()
+                .build());
+        if (!restaurantsEnabled) {
+            CompositeCacheManager compositeCacheManager = new CompositeCacheManager(cacheManager);
+            compositeCacheManager.setFallbackToNoOpCache(true);
+            return compositeCacheManager;
+        }
+        for (String name : new String[]{RESTAURANTS_CACHE, RESTAURANT_CACHE}) {
+            cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                    .maximumSize(restaurantsMaximumSize)
+                    .expireAfterWrite(restaurantsExpireAfterWrite)
+                    .recordStats()
+                    .build());
+        }
+        return cacheManager;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.restaurantbookingservice.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Logs the stack of every virtual thread that stays pinned to its carrier longer than the threshold, typically
+ * blocking I/O inside a {@code synchronized} block of a driver or pool. Only active in virtual-thread mode.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int MAX_LOGGED_FRAMES = 15;
+
+    @Value("${restaurantbookingservice.app.virtualThreads.pinnedThreshold:20ms}")
+    private Duration threshold;
+
+    private RecordingStream recordingStream;
+
+    @Override
+    public void afterPropertiesSet() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::logPinnedThread);
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void destroy() {
+        recordingStream.close();
+    }
+
+    private void logPinnedThread(RecordedEvent event) {
+        StringBuilder stack = new StringBuilder();
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> frames = event.getStackTrace().getFrames();
+            frames.stream().limit(MAX_LOGGED_FRAMES).forEach(frame -> stack.append("\n\tat ")
+                    .append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber()));
+        }
+        logger.warn("Virtual thread {} pinned its carrier for {} ms{}", event.getThread() != null
+                ? event.getThread().getJavaName() : "?", event.getDuration().toMillis(), stack);
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.restaurantbookingservice.config;
 
+import com.example.restaurantbookingservice.security.BoundedPasswordEncoder;
 import com.example.restaurantbookingservice.security.jwt.AuthEntryPointJwt;
 import com.example.restaurantbookingservice.security.jwt.AuthTokenFilter;
 import com.example.restaurantbookingservice.security.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -18,6 +20,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableMethodSecurity
 @Profile("!test-security")
@@ -28,6 +32,15 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Value("${restaurantbookingservice.app.passwordHashing.threads:2}")
+    private int passwordHashingThreads;
+
+    @Value("${restaurantbookingservice.app.passwordHashing.queueCapacity:64}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${restaurantbookingservice.app.passwordHashing.timeout:5s}")
+    private Duration passwordHashingTimeout;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -48,9 +61,10 @@ public class WebSecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingThreads,
+                passwordHashingQueueCapacity, passwordHashingTimeout);
     }
 
     @Bean
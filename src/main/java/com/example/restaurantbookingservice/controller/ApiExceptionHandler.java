@@ -0,0 +1,42 @@
+package com.example.restaurantbookingservice.controller;
+
+import com.example.restaurantbookingservice.payload.response.MessageResponse;
+import com.example.restaurantbookingservice.security.PasswordHashingOverloadedException;
+import com.example.restaurantbookingservice.service.IdempotencyKeyReusedException;
+import com.example.restaurantbookingservice.service.IdempotencyRequestInProgressException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<MessageResponse> handlePasswordHashingOverloaded(PasswordHashingOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: Authentication is temporarily overloaded, please retry"));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<MessageResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new MessageResponse("Error: The resource was changed by another request, reload it and retry"));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<MessageResponse> handleIdempotencyKeyReused(IdempotencyKeyReusedException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(new MessageResponse("Error: The Idempotency-Key was already used for a different request"));
+    }
+
+    @ExceptionHandler(IdempotencyRequestInProgressException.class)
+    public ResponseEntity<MessageResponse> handleIdempotencyRequestInProgress(IdempotencyRequestInProgressException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: A request with this Idempotency-Key is still in progress, retry later"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.restaurantbookingservice.controller;
+
+import com.example.restaurantbookingservice.dto.AvailableTimeSlotDto;
+import com.example.restaurantbookingservice.dto.TableAllocationDto;
+import com.example.restaurantbookingservice.service.AvailabilityService;
+import com.example.restaurantbookingservice.service.TableAllocationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/availability")
+public class AvailabilityController {
+
+    private static final int MAX_PAGE_SIZE = 200;
+    // The search keeps every result up to the end of the requested page, so deep pages are refused.
+    private static final int MAX_SEARCH_DEPTH = 1000;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private TableAllocationService tableAllocationService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<AvailableTimeSlotDto>> searchAvailability(
+            @RequestParam int partySize,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long restaurantId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        if (partySize < 1 || !from.isBefore(to) || page < 0 || size < 1 || size > MAX_PAGE_SIZE
+                || (long) page * size + size > MAX_SEARCH_DEPTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(availabilityService.search(restaurantId, partySize, from, to, page, size));
+    }
+
+    /**
+     * Finds the tables to seat a party that may need several joinable tables pushed together.
+     */
+    @GetMapping("/tables")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<TableAllocationDto> allocateTables(
+            @RequestParam Long restaurantId,
+            @RequestParam int partySize,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        if (partySize < 1 || !start.isBefore(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        TableAllocationDto allocation = tableAllocationService.allocate(restaurantId, partySize, start, end);
+        if (allocation == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(allocation);
+    }
+}
@@ -1,27 +1,72 @@
 package com.example.restaurantbookingservice.controller;
 
+import com.example.restaurantbookingservice.dto.BookingAssignmentDto;
+import com.example.restaurantbookingservice.dto.BookingBatchRequestDto;
+import com.example.restaurantbookingservice.dto.BookingBatchResultDto;
 import com.example.restaurantbookingservice.dto.BookingDto;
 import com.example.restaurantbookingservice.service.BookingService;
+import com.example.restaurantbookingservice.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.security.Principal;
 import java.util.List;
 
 @RestController
 @RequestMapping("/bookings")
 public class BookingController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private static final String[] CSV_HEADER = {
+            "id", "timeSlotId", "numberOfPeople", "customerName", "customerPhone", "customerEmail"
+    };
+
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public List<BookingDto> getAllBookings() {
+    public List<BookingDto> getAllBookings(@RequestParam(required = false) Long after,
+                                           @RequestParam(required = false) Integer limit) {
+        if (Listings.isKeysetRequest(after, limit)) {
+            return bookingService.getBookingsAfter(Listings.after(after), Listings.limit(limit));
+        }
         return bookingService.getAllBookings();
     }
 
+    @GetMapping(params = "stream=true")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllBookings() {
+        return Listings.jsonArray(objectMapper, bookingService::forEachBooking);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookingsAsNdjson() {
+        return Listings.ndjson(objectMapper, bookingService::forEachBooking);
+    }
+
+    @GetMapping(produces = Listings.TEXT_CSV_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookingsAsCsv() {
+        return Listings.csv("bookings.csv", CSV_HEADER, BookingController::toCsvRow, bookingService::forEachBooking);
+    }
+
     @GetMapping("/{id}")
     public BookingDto getBookingById(@PathVariable Long id) {
         return bookingService.getBookingById(id);
@@ -34,10 +79,63 @@ public class BookingController {
 
     @PostMapping
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<BookingDto> addBooking(@RequestBody BookingDto bookingDto) {
-        BookingDto newBooking = bookingService.addBooking(bookingDto);
-        if (newBooking != null) {
-            return ResponseEntity.ok(newBooking);
+    public ResponseEntity<BookingDto> addBooking(@RequestBody BookingDto bookingDto,
+                                                 @RequestHeader(name = IDEMPOTENCY_KEY, required = false)
+                                                 String idempotencyKey,
+                                                 Principal principal) {
+        if (idempotencyKey == null) {
+            BookingDto newBooking = bookingService.addBooking(bookingDto);
+            if (newBooking != null) {
+                return ResponseEntity.ok(newBooking);
+            }
+            return ResponseEntity.badRequest().build();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Keys are chosen by clients, so they are only unique per user.
+        String scopedKey = (principal != null ? principal.getName() : "") + ':' + idempotencyKey;
+        IdempotencyService.Result<BookingDto> result =
+                idempotencyService.execute(scopedKey, bookingDto, () -> bookingService.addBooking(bookingDto));
+        if (result.getValue() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED, Boolean.toString(result.isReplayed()))
+                .body(result.getValue());
+    }
+
+    @PostMapping("/assign")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BookingDto> assignBooking(@RequestBody BookingAssignmentDto assignmentDto) {
+        BookingDto booking = bookingService.assignBooking(assignmentDto);
+        if (booking != null) {
+            return ResponseEntity.ok(booking);
+        }
+        return ResponseEntity.badRequest().build();
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BookingBatchResultDto> addBookings(@RequestBody BookingBatchRequestDto batch) {
+        boolean allOrNothing = batch.getMode() != BookingBatchRequestDto.Mode.BEST_EFFORT;
+        BookingBatchResultDto result = bookingService.addBookings(batch.getBookings(), allOrNothing);
+        if (result == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (result.getBooked().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookingDto> updateBooking(@PathVariable Long id, @RequestBody BookingDto bookingDto) {
+        BookingDto updated = bookingService.updateBooking(id, bookingDto);
+        if (updated != null) {
+            return ResponseEntity.ok(updated);
         }
         return ResponseEntity.badRequest().build();
     }
@@ -47,4 +145,11 @@ public class BookingController {
     public void deleteBooking(@PathVariable Long id) {
         bookingService.deleteBooking(id);
     }
+
+    private static Object[] toCsvRow(BookingDto booking) {
+        return new Object[]{
+                booking.getId(), booking.getTimeSlotId(), booking.getNumberOfPeople(),
+                booking.getCustomerName(), booking.getCustomerPhone(), booking.getCustomerEmail()
+        };
+    }
 }
@@ -0,0 +1,29 @@
+package com.example.restaurantbookingservice.controller;
+
+import com.example.restaurantbookingservice.service.ResourceVersionService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Answers {@code If-None-Match} / {@code If-Modified-Since} from a {@link ResourceVersionService.Version} before the
+ * handler reads anything. When this returns {@code true} the handler returns {@code null} and the client gets an
+ * empty 304; otherwise the ETag and Last-Modified headers are already on the response.
+ */
+final class ConditionalRequests {
+
+    // Clients may keep the body but must revalidate on every use; this also replaces the no-store default.
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalRequests() {
+    }
+
+    static boolean notModified(ServletWebRequest webRequest, ResourceVersionService.Version version) {
+        HttpServletResponse response = webRequest.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return webRequest.checkNotModified(version.getETag(), version.getLastModified());
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.restaurantbookingservice.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Shared handling for the {@code ?after=&limit=} keyset pages and {@code ?stream=true} responses of the
+ * list endpoints.
+ */
+final class Listings {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    // Leading characters that make a spreadsheet evaluate a cell as a formula.
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    /**
+     * Rows written between explicit flushes of export responses, so clients see progress and the container
+     * never buffers more than a chunk.
+     */
+    static final int FLUSH_INTERVAL = 500;
+
+    private Listings() {
+    }
+
+    static boolean isKeysetRequest(Long after, Integer limit) {
+        return after != null || limit != null;
+    }
+
+    static long after(Long after) {
+        return after != null ? after : Long.MIN_VALUE;
+    }
+
+    static int limit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Writes every element the source produces as one JSON array, straight to the response output stream.
+     */
+    static <T> ResponseEntity<StreamingResponseBody> jsonArray(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                source.accept(element -> {
+                    try {
+                        generator.writeObject(element);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Writes every element the source produces as one JSON document per line (NDJSON).
+     */
+    static <T> ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                source.accept(element -> {
+                    try {
+                        generator.writeObject(element);
+                        generator.writeRaw('\n');
+                        if (++written[0] % FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Writes a header line followed by one RFC 4180 record per element the source produces.
+     */
+    static <T> ResponseEntity<StreamingResponseBody> csv(String filename, String[] header, Function<T, Object[]> row,
+                                                         Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writeCsvRecord(writer, header);
+            int[] written = {0};
+            source.accept(element -> {
+                try {
+                    writeCsvRecord(writer, row.apply(element));
+                    if (++written[0] % FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private static void writeCsvRecord(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    // Text fields are client-supplied and the file is meant for spreadsheets, so one that would be read as a formula
+    // is prefixed with an apostrophe before the RFC 4180 quoting.
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.restaurantbookingservice.controller;
 
 import com.example.restaurantbookingservice.dto.RestaurantDto;
+import com.example.restaurantbookingservice.service.ResourceVersionService;
 import com.example.restaurantbookingservice.service.RestaurantService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,13 +20,35 @@ public class RestaurantController {
     @Autowired
     private RestaurantService restaurantService;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public List<RestaurantDto> getAllRestaurants() {
+    public List<RestaurantDto> getAllRestaurants(@RequestParam(required = false) Long after,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 ServletWebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, resourceVersionService.restaurants())) {
+            return null;
+        }
+        if (Listings.isKeysetRequest(after, limit)) {
+            return restaurantService.getRestaurantsAfter(Listings.after(after), Listings.limit(limit));
+        }
         return restaurantService.getAllRestaurants();
     }
 
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllRestaurants() {
+        return Listings.jsonArray(objectMapper, restaurantService::forEachRestaurant);
+    }
+
     @GetMapping("/{id}")
-    public RestaurantDto getRestaurantById(@PathVariable Long id) {
+    public RestaurantDto getRestaurantById(@PathVariable Long id, ServletWebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, resourceVersionService.restaurants())) {
+            return null;
+        }
         return restaurantService.getRestaurantById(id);
     }
 
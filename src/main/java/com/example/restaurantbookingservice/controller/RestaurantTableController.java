@@ -1,10 +1,15 @@
 package com.example.restaurantbookingservice.controller;
 
-import com.example.restaurantbookingservice.model.RestaurantTable;
+import com.example.restaurantbookingservice.dto.RestaurantTableDto;
+import com.example.restaurantbookingservice.service.ResourceVersionService;
 import com.example.restaurantbookingservice.service.RestaurantTableService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,28 +20,75 @@ public class RestaurantTableController {
     @Autowired
     private RestaurantTableService restaurantTableService;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public List<RestaurantTable> getAllTables() {
+    public List<RestaurantTableDto> getAllTables(@RequestParam(required = false) Long after,
+                                                 @RequestParam(required = false) Integer limit) {
+        if (Listings.isKeysetRequest(after, limit)) {
+            return restaurantTableService.getTablesAfter(Listings.after(after), Listings.limit(limit));
+        }
         return restaurantTableService.getAllTables();
     }
 
+    @GetMapping(params = "stream=true")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllTables() {
+        return Listings.jsonArray(objectMapper, restaurantTableService::forEachTable);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public RestaurantTable getTableById(@PathVariable Long id) {
+    public RestaurantTableDto getTableById(@PathVariable Long id) {
         return restaurantTableService.getTableById(id);
     }
 
     @GetMapping("/restaurant/{restaurantId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public List<RestaurantTable> getTablesByRestaurantId(@PathVariable Long restaurantId) {
+    public List<RestaurantTableDto> getTablesByRestaurantId(@PathVariable Long restaurantId,
+                                                            ServletWebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, resourceVersionService.tablesOfRestaurant(restaurantId))) {
+            return null;
+        }
         return restaurantTableService.getTablesByRestaurantId(restaurantId);
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public RestaurantTable addTable(@RequestBody RestaurantTable table) {
-        return restaurantTableService.addTable(table);
+    public RestaurantTableDto addTable(@RequestBody RestaurantTableDto tableDto) {
+        return restaurantTableService.addTable(tableDto);
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RestaurantTableDto> updateTable(@PathVariable Long id,
+                                                          @RequestBody RestaurantTableDto tableDto) {
+        RestaurantTableDto updated = restaurantTableService.updateTable(id, tableDto);
+        if (updated != null) {
+            return ResponseEntity.ok(updated);
+        }
+        return ResponseEntity.badRequest().build();
+    }
+
+    @GetMapping("/{id}/joinable")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public List<Long> getJoinableTableIds(@PathVariable Long id) {
+        return restaurantTableService.getJoinableTableIds(id);
+    }
+
+    @PutMapping("/{id}/joinable")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<Long>> setJoinableTables(@PathVariable Long id, @RequestBody List<Long> joinableTableIds) {
+        List<Long> joinable = restaurantTableService.setJoinableTables(id, joinableTableIds);
+        if (joinable != null) {
+            return ResponseEntity.ok(joinable);
+        }
+        return ResponseEntity.badRequest().build();
     }
 
     @DeleteMapping("/{id}")
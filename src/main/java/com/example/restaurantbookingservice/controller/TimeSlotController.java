@@ -1,10 +1,15 @@
 package com.example.restaurantbookingservice.controller;
 
-import com.example.restaurantbookingservice.model.TimeSlot;
+import com.example.restaurantbookingservice.dto.TimeSlotDto;
+import com.example.restaurantbookingservice.service.ResourceVersionService;
 import com.example.restaurantbookingservice.service.TimeSlotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,28 +20,58 @@ public class TimeSlotController {
     @Autowired
     private TimeSlotService timeSlotService;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public List<TimeSlot> getAllTimeSlots() {
+    public List<TimeSlotDto> getAllTimeSlots(@RequestParam(required = false) Long after,
+                                             @RequestParam(required = false) Integer limit) {
+        if (Listings.isKeysetRequest(after, limit)) {
+            return timeSlotService.getTimeSlotsAfter(Listings.after(after), Listings.limit(limit));
+        }
         return timeSlotService.getAllTimeSlots();
     }
 
+    @GetMapping(params = "stream=true")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllTimeSlots() {
+        return Listings.jsonArray(objectMapper, timeSlotService::forEachTimeSlot);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public TimeSlot getTimeSlotById(@PathVariable Long id) {
+    public TimeSlotDto getTimeSlotById(@PathVariable Long id) {
         return timeSlotService.getTimeSlotById(id);
     }
 
     @GetMapping("/table/{restaurantTableId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public List<TimeSlot> getTimeSlotsByRestaurantTableId(@PathVariable Long restaurantTableId) {
+    public List<TimeSlotDto> getTimeSlotsByRestaurantTableId(@PathVariable Long restaurantTableId,
+                                                             ServletWebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, resourceVersionService.timeSlotsOfTable(restaurantTableId))) {
+            return null;
+        }
         return timeSlotService.getTimeSlotsByRestaurantTableId(restaurantTableId);
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public TimeSlot addTimeSlot(@RequestBody TimeSlot timeSlot) {
-        return timeSlotService.addTimeSlot(timeSlot);
+    public TimeSlotDto addTimeSlot(@RequestBody TimeSlotDto timeSlotDto) {
+        return timeSlotService.addTimeSlot(timeSlotDto);
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TimeSlotDto> updateTimeSlot(@PathVariable Long id, @RequestBody TimeSlotDto timeSlotDto) {
+        TimeSlotDto updated = timeSlotService.updateTimeSlot(id, timeSlotDto);
+        if (updated != null) {
+            return ResponseEntity.ok(updated);
+        }
+        return ResponseEntity.badRequest().build();
     }
 
     @DeleteMapping("/{id}")
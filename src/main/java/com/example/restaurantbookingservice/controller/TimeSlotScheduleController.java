@@ -0,0 +1,57 @@
+package com.example.restaurantbookingservice.controller;
+
+import com.example.restaurantbookingservice.dto.TimeSlotScheduleDto;
+import com.example.restaurantbookingservice.service.TimeSlotScheduleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/schedules")
+public class TimeSlotScheduleController {
+
+    @Autowired
+    private TimeSlotScheduleService timeSlotScheduleService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<TimeSlotScheduleDto> getAllSchedules() {
+        return timeSlotScheduleService.getAllSchedules();
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TimeSlotScheduleDto> getScheduleById(@PathVariable Long id) {
+        TimeSlotScheduleDto schedule = timeSlotScheduleService.getScheduleById(id);
+        if (schedule != null) {
+            return ResponseEntity.ok(schedule);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TimeSlotScheduleDto> addSchedule(@RequestBody TimeSlotScheduleDto scheduleDto) {
+        TimeSlotScheduleDto schedule = timeSlotScheduleService.addSchedule(scheduleDto);
+        if (schedule != null) {
+            return ResponseEntity.ok(schedule);
+        }
+        return ResponseEntity.badRequest().build();
+    }
+
+    @PostMapping("/{id}/generate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TimeSlotScheduleDto> generateTimeSlots(@PathVariable Long id) {
+        timeSlotScheduleService.generateTimeSlots(id);
+        return getScheduleById(id);
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void deleteSchedule(@PathVariable Long id) {
+        timeSlotScheduleService.deleteSchedule(id);
+    }
+}
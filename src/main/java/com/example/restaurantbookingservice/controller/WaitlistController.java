@@ -0,0 +1,50 @@
+package com.example.restaurantbookingservice.controller;
+
+import com.example.restaurantbookingservice.dto.WaitlistEntryDto;
+import com.example.restaurantbookingservice.service.WaitlistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/waitlist")
+public class WaitlistController {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @GetMapping("/timeslot/{timeSlotId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<WaitlistEntryDto> getWaitlist(@PathVariable Long timeSlotId) {
+        return waitlistService.getWaitlist(timeSlotId);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WaitlistEntryDto> getEntryById(@PathVariable Long id) {
+        WaitlistEntryDto entry = waitlistService.getEntryById(id);
+        if (entry != null) {
+            return ResponseEntity.ok(entry);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<WaitlistEntryDto> joinWaitlist(@RequestBody WaitlistEntryDto entryDto) {
+        WaitlistEntryDto entry = waitlistService.joinWaitlist(entryDto);
+        if (entry != null) {
+            return ResponseEntity.ok(entry);
+        }
+        return ResponseEntity.badRequest().build();
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void leaveWaitlist(@PathVariable Long id) {
+        waitlistService.leaveWaitlist(id);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.restaurantbookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableTimeSlotDto {
+    private Long timeSlotId;
+    private Long restaurantId;
+    private Long restaurantTableId;
+    private int tableNumber;
+    private int capacity;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
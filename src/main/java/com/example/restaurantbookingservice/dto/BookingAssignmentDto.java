@@ -0,0 +1,19 @@
+package com.example.restaurantbookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingAssignmentDto {
+    private Long restaurantId;
+    private LocalDateTime startTime;
+    private int numberOfPeople;
+    private String customerName;
+    private String customerPhone;
+    private String customerEmail;
+}
@@ -0,0 +1,23 @@
+package com.example.restaurantbookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBatchRequestDto {
+
+    public enum Mode {
+        /** Either every booking is made or none is. */
+        ALL_OR_NOTHING,
+        /** Bookings whose time slot is free are made, the others are reported as rejected. */
+        BEST_EFFORT
+    }
+
+    private Mode mode = Mode.ALL_OR_NOTHING;
+    private List<BookingDto> bookings;
+}
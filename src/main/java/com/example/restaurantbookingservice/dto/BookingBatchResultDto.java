@@ -0,0 +1,15 @@
+package com.example.restaurantbookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBatchResultDto {
+    private List<BookingDto> booked;
+    private List<BookingDto> rejected;
+}
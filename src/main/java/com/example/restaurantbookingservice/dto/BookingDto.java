@@ -1,8 +1,12 @@
 package com.example.restaurantbookingservice.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class BookingDto {
     private Long id;
     private Long timeSlotId;
@@ -10,4 +14,5 @@ public class BookingDto {
     private String customerName;
     private String customerPhone;
     private String customerEmail;
+    private Long version;
 }
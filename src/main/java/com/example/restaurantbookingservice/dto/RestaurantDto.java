@@ -1,8 +1,12 @@
 package com.example.restaurantbookingservice.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class RestaurantDto {
     private Long id;
     private String name;
@@ -0,0 +1,16 @@
+package com.example.restaurantbookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantTableDto {
+    private Long id;
+    private int tableNumber;
+    private int capacity;
+    private Long restaurantId;
+    private Long version;
+}
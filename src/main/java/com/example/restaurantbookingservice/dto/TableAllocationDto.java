@@ -0,0 +1,20 @@
+package com.example.restaurantbookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableAllocationDto {
+    private Long restaurantId;
+    private List<Long> restaurantTableIds;
+    private int capacity;
+    private List<Long> timeSlotIds;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,20 @@
+package com.example.restaurantbookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSlotDto {
+    private Long id;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long restaurantTableId;
+    private Long version;
+    private Integer capacity;
+    private Integer remainingSeats;
+}
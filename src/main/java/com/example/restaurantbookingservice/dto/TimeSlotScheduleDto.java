@@ -0,0 +1,21 @@
+package com.example.restaurantbookingservice.dto;
+
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Data
+public class TimeSlotScheduleDto {
+    private Long id;
+    private Long restaurantId;
+    private Long restaurantTableId;
+    private LocalTime openingTime;
+    private LocalTime closingTime;
+    private int slotMinutes;
+    private Set<DayOfWeek> daysOfWeek;
+    private int horizonDays;
+    private LocalDate generatedThrough;
+}
@@ -0,0 +1,20 @@
+package com.example.restaurantbookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryDto {
+    private Long id;
+    private Long timeSlotId;
+    private int numberOfPeople;
+    private String customerName;
+    private String customerPhone;
+    private String customerEmail;
+    private LocalDateTime requestedAt;
+}
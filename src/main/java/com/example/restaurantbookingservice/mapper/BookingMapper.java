@@ -10,5 +10,7 @@ public interface BookingMapper {
     @Mapping(source = "timeSlot.id", target = "timeSlotId")
     BookingDto toDto(Booking booking);
     @Mapping(source = "timeSlotId", target = "timeSlot.id")
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Booking toEntity(BookingDto bookingDto);
 }
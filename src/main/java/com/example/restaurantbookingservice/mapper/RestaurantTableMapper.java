@@ -0,0 +1,17 @@
+package com.example.restaurantbookingservice.mapper;
+
+import com.example.restaurantbookingservice.dto.RestaurantTableDto;
+import com.example.restaurantbookingservice.model.RestaurantTable;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface RestaurantTableMapper {
+    @Mapping(source = "restaurant.id", target = "restaurantId")
+    RestaurantTableDto toDto(RestaurantTable table);
+    @Mapping(source = "restaurantId", target = "restaurant.id")
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "joinableTables", ignore = true)
+    RestaurantTable toEntity(RestaurantTableDto tableDto);
+}
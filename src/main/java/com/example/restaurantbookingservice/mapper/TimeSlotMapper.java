@@ -0,0 +1,17 @@
+package com.example.restaurantbookingservice.mapper;
+
+import com.example.restaurantbookingservice.dto.TimeSlotDto;
+import com.example.restaurantbookingservice.model.TimeSlot;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface TimeSlotMapper {
+    @Mapping(source = "restaurantTable.id", target = "restaurantTableId")
+    TimeSlotDto toDto(TimeSlot timeSlot);
+    @Mapping(source = "restaurantTableId", target = "restaurantTable.id")
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "remainingSeats", ignore = true)
+    TimeSlot toEntity(TimeSlotDto timeSlotDto);
+}
@@ -0,0 +1,17 @@
+package com.example.restaurantbookingservice.mapper;
+
+import com.example.restaurantbookingservice.dto.TimeSlotScheduleDto;
+import com.example.restaurantbookingservice.model.TimeSlotSchedule;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface TimeSlotScheduleMapper {
+    @Mapping(source = "restaurant.id", target = "restaurantId")
+    @Mapping(source = "restaurantTable.id", target = "restaurantTableId")
+    TimeSlotScheduleDto toDto(TimeSlotSchedule schedule);
+    @Mapping(target = "restaurant", ignore = true)
+    @Mapping(target = "restaurantTable", ignore = true)
+    @Mapping(target = "generatedThrough", ignore = true)
+    TimeSlotSchedule toEntity(TimeSlotScheduleDto scheduleDto);
+}
@@ -0,0 +1,15 @@
+package com.example.restaurantbookingservice.mapper;
+
+import com.example.restaurantbookingservice.dto.WaitlistEntryDto;
+import com.example.restaurantbookingservice.model.WaitlistEntry;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface WaitlistEntryMapper {
+    @Mapping(source = "timeSlot.id", target = "timeSlotId")
+    WaitlistEntryDto toDto(WaitlistEntry waitlistEntry);
+    @Mapping(target = "timeSlot", ignore = true)
+    @Mapping(target = "requestedAt", ignore = true)
+    WaitlistEntry toEntity(WaitlistEntryDto waitlistEntryDto);
+}
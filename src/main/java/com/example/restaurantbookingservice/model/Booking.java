@@ -2,24 +2,43 @@ package com.example.restaurantbookingservice.model;
 
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
+@NamedEntityGraph(name = Booking.WITH_TIME_SLOT, attributeNodes = @NamedAttributeNode("timeSlot"))
+@Table(indexes = {
+        @Index(name = "idx_booking_timeslot", columnList = "timeslot_id"),
+        @Index(name = "idx_booking_user", columnList = "user_id")
+})
 public class Booking {
 
+    // Associations are lazy. Reads go through DTO projections; writes that need the slot load it with this graph.
+    public static final String WITH_TIME_SLOT = "Booking.withTimeSlot";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookingSeq")
+    @SequenceGenerator(name = "bookingSeq", sequenceName = "booking_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @Version
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "timeslot_id")
     private TimeSlot timeSlot;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -99,4 +118,12 @@ public class Booking {
     public void setCustomerEmail(String customerEmail) {
         this.customerEmail = customerEmail;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
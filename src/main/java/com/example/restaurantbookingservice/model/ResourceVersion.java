@@ -0,0 +1,45 @@
+package com.example.restaurantbookingservice.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Change counter of one collection served with an ETag, such as the tables of a restaurant. Rows are created on the
+ * first write and bumped by every later one, in the same transaction as the change they stand for.
+ */
+@Entity
+public class ResourceVersion {
+
+    @Id
+    private String name;
+
+    private long counter;
+    private long lastModified;
+
+    public ResourceVersion() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getCounter() {
+        return counter;
+    }
+
+    public void setCounter(long counter) {
+        this.counter = counter;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+    }
+}
@@ -1,23 +1,27 @@
 package com.example.restaurantbookingservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import java.util.List;
 
 @Entity
 public class Restaurant {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "restaurantSeq")
+    @SequenceGenerator(name = "restaurantSeq", sequenceName = "restaurant_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String address;
     private String phone;
     private String email;
 
+    @JsonIgnore
     @OneToMany(mappedBy = "restaurant")
     private List<RestaurantTable> tables;
 
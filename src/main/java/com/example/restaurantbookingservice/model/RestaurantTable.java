@@ -2,19 +2,35 @@ package com.example.restaurantbookingservice.model;
 
 import jakarta.persistence.*;
 
+import java.util.HashSet;
+import java.util.Set;
+
 @Entity
+@Table(indexes = @Index(name = "idx_restaurant_table_restaurant", columnList = "restaurant_id"))
 public class RestaurantTable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "restaurantTableSeq")
+    @SequenceGenerator(name = "restaurantTableSeq", sequenceName = "restaurant_table_seq", allocationSize = 50)
     private Long id;
+
+    @Version
+    private Long version;
+
     private int tableNumber;
     private int capacity;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id")
     private Restaurant restaurant;
 
+    // Tables that can be pushed together with this one; kept symmetric by RestaurantTableService.
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "restaurant_table_joinable",
+            joinColumns = @JoinColumn(name = "table_id"),
+            inverseJoinColumns = @JoinColumn(name = "joinable_table_id"))
+    private Set<RestaurantTable> joinableTables = new HashSet<>();
+
     public RestaurantTable() {
     }
 
@@ -55,4 +71,20 @@ public class RestaurantTable {
     public void setRestaurant(Restaurant restaurant) {
         this.restaurant = restaurant;
     }
+
+    public Set<RestaurantTable> getJoinableTables() {
+        return joinableTables;
+    }
+
+    public void setJoinableTables(Set<RestaurantTable> joinableTables) {
+        this.joinableTables = joinableTables;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -4,18 +4,35 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_time_slot_table_start", columnList = "restaurant_table_id, start_time"),
+        @Index(name = "idx_time_slot_end_time", columnList = "end_time")
+})
 public class TimeSlot {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "timeSlotSeq")
+    @SequenceGenerator(name = "timeSlotSeq", sequenceName = "time_slot_seq", allocationSize = 50)
     private Long id;
+
+    @Version
+    private Long version;
+
     private LocalDateTime startTime;
     private LocalDateTime endTime;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_table_id")
     private RestaurantTable restaurantTable;
 
+    // Null when one booking takes the whole table; otherwise the seats sold to separate parties, e.g. at a bar.
+    private Integer capacity;
+
+    // What is still free: seats of a shared slot, or 1 for a whole-table slot until it is booked. Admissions change
+    // it with conditional updates in TimeSlotRepository rather than through this field.
+    @Column(nullable = false)
+    private Integer remainingSeats;
+
     public TimeSlot() {
     }
 
@@ -56,4 +73,35 @@ public class TimeSlot {
     public void setRestaurantTable(RestaurantTable restaurantTable) {
         this.restaurantTable = restaurantTable;
     }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public Integer getRemainingSeats() {
+        return remainingSeats;
+    }
+
+    public void setRemainingSeats(Integer remainingSeats) {
+        this.remainingSeats = remainingSeats;
+    }
+
+    @PrePersist
+    void initRemainingSeats() {
+        if (remainingSeats == null) {
+            remainingSeats = capacity != null ? capacity : 1;
+        }
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,124 @@
+package com.example.restaurantbookingservice.model;
+
+import jakarta.persistence.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Recurring opening hours from which time slots are generated over a rolling horizon, either for one table or for
+ * every table of a restaurant.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_time_slot_schedule_restaurant", columnList = "restaurant_id"),
+        @Index(name = "idx_time_slot_schedule_table", columnList = "restaurant_table_id")
+})
+public class TimeSlotSchedule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "timeSlotScheduleSeq")
+    @SequenceGenerator(name = "timeSlotScheduleSeq", sequenceName = "time_slot_schedule_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurant_id")
+    private Restaurant restaurant;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurant_table_id")
+    private RestaurantTable restaurantTable;
+
+    private LocalTime openingTime;
+    private LocalTime closingTime;
+    private int slotMinutes;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "time_slot_schedule_days", joinColumns = @JoinColumn(name = "schedule_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week")
+    private Set<DayOfWeek> daysOfWeek = EnumSet.noneOf(DayOfWeek.class);
+
+    private int horizonDays;
+
+    // Last day for which slots have been generated; the next run continues from the day after.
+    private LocalDate generatedThrough;
+
+    public TimeSlotSchedule() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Restaurant getRestaurant() {
+        return restaurant;
+    }
+
+    public void setRestaurant(Restaurant restaurant) {
+        this.restaurant = restaurant;
+    }
+
+    public RestaurantTable getRestaurantTable() {
+        return restaurantTable;
+    }
+
+    public void setRestaurantTable(RestaurantTable restaurantTable) {
+        this.restaurantTable = restaurantTable;
+    }
+
+    public LocalTime getOpeningTime() {
+        return openingTime;
+    }
+
+    public void setOpeningTime(LocalTime openingTime) {
+        this.openingTime = openingTime;
+    }
+
+    public LocalTime getClosingTime() {
+        return closingTime;
+    }
+
+    public void setClosingTime(LocalTime closingTime) {
+        this.closingTime = closingTime;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public void setSlotMinutes(int slotMinutes) {
+        this.slotMinutes = slotMinutes;
+    }
+
+    public Set<DayOfWeek> getDaysOfWeek() {
+        return daysOfWeek;
+    }
+
+    public void setDaysOfWeek(Set<DayOfWeek> daysOfWeek) {
+        this.daysOfWeek = daysOfWeek;
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    public void setHorizonDays(int horizonDays) {
+        this.horizonDays = horizonDays;
+    }
+
+    public LocalDate getGeneratedThrough() {
+        return generatedThrough;
+    }
+
+    public void setGeneratedThrough(LocalDate generatedThrough) {
+        this.generatedThrough = generatedThrough;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.restaurantbookingservice.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * A party waiting for a seat in a full time slot. Entries are served in request order, skipping parties larger than
+ * what a cancellation freed.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_waitlist_entry_timeslot_requested", columnList = "timeslot_id, requested_at"))
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waitlistEntrySeq")
+    @SequenceGenerator(name = "waitlistEntrySeq", sequenceName = "waitlist_entry_seq", allocationSize = 50)
+    private Long id;
+
+    // The queue goes away with its slot.
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "timeslot_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private TimeSlot timeSlot;
+
+    private int numberOfPeople;
+    private String customerName;
+    private String customerPhone;
+    private String customerEmail;
+    private LocalDateTime requestedAt;
+
+    public WaitlistEntry() {
+    }
+
+    public WaitlistEntry(TimeSlot timeSlot, int numberOfPeople, String customerName, String customerPhone,
+                         String customerEmail, LocalDateTime requestedAt) {
+        this.timeSlot = timeSlot;
+        this.numberOfPeople = numberOfPeople;
+        this.customerName = customerName;
+        this.customerPhone = customerPhone;
+        this.customerEmail = customerEmail;
+        this.requestedAt = requestedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TimeSlot getTimeSlot() {
+        return timeSlot;
+    }
+
+    public void setTimeSlot(TimeSlot timeSlot) {
+        this.timeSlot = timeSlot;
+    }
+
+    public int getNumberOfPeople() {
+        return numberOfPeople;
+    }
+
+    public void setNumberOfPeople(int numberOfPeople) {
+        this.numberOfPeople = numberOfPeople;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+
+    public void setCustomerPhone(String customerPhone) {
+        this.customerPhone = customerPhone;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public void setCustomerEmail(String customerEmail) {
+        this.customerEmail = customerEmail;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(LocalDateTime requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+}
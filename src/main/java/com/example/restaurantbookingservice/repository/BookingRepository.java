@@ -1,15 +1,47 @@
 package com.example.restaurantbookingservice.repository;
 
+import com.example.restaurantbookingservice.dto.BookingDto;
 import com.example.restaurantbookingservice.model.Booking;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    // Selects the booking columns only; the time slot and user are neither joined nor loaded.
+    String SELECT_DTO = "select new com.example.restaurantbookingservice.dto.BookingDto(b.id, b.timeSlot.id, "
+            + "b.numberOfPeople, b.customerName, b.customerPhone, b.customerEmail, b.version) from Booking b";
+
     List<Booking> findByTimeSlotId(Long timeSlotId);
-    List<Booking> findByUserId(Long userId);
-    Optional<Booking> findByUserIdAndId(Long userId, Long bookingId);
+
+    @EntityGraph(Booking.WITH_TIME_SLOT)
+    Optional<Booking> findWithTimeSlotById(Long id);
+
+    @Query(SELECT_DTO)
+    List<BookingDto> findAllDtos();
+
+    @Query(SELECT_DTO + " where b.id = :id")
+    Optional<BookingDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " where b.timeSlot.id = :timeSlotId")
+    List<BookingDto> findDtosByTimeSlotId(@Param("timeSlotId") Long timeSlotId);
+
+    @Query(SELECT_DTO + " where b.id > :id order by b.id")
+    List<BookingDto> findDtosByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    @Query(SELECT_DTO + " order by b.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + StreamingSupport.FETCH_SIZE))
+    Stream<BookingDto> streamAllDtos();
 }
@@ -0,0 +1,37 @@
+package com.example.restaurantbookingservice.repository;
+
+import com.example.restaurantbookingservice.model.ResourceVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ResourceVersionRepository extends JpaRepository<ResourceVersion, String> {
+    // Scalars rather than the entity, so a row bumped earlier in the same transaction is not read back stale.
+    @Query("select v.counter, v.lastModified from ResourceVersion v where v.name = :name")
+    List<Object[]> findCounterAndLastModifiedByName(@Param("name") String name);
+
+    long countByNameIn(Collection<String> names);
+
+    @Transactional
+    @Modifying
+    @Query("update ResourceVersion v set v.counter = v.counter + 1, v.lastModified = :now where v.name = :name")
+    int increment(@Param("name") String name, @Param("now") long now);
+
+    /**
+     * Takes the row lock of a counter without changing it; returns 0 when the counter does not exist.
+     */
+    @Transactional
+    @Modifying
+    @Query("update ResourceVersion v set v.counter = v.counter where v.name = :name")
+    int lock(@Param("name") String name);
+
+    @Transactional
+    @Modifying
+    @Query("insert into ResourceVersion (name, counter, lastModified) values (:name, 0, 0)")
+    int create(@Param("name") String name);
+}
@@ -1,9 +1,37 @@
 package com.example.restaurantbookingservice.repository;
 
+import com.example.restaurantbookingservice.dto.RestaurantDto;
 import com.example.restaurantbookingservice.model.Restaurant;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
+
+    String SELECT_DTO = "select new com.example.restaurantbookingservice.dto.RestaurantDto("
+            + "r.id, r.name, r.address, r.phone, r.email) from Restaurant r";
+
+    @Query(SELECT_DTO)
+    List<RestaurantDto> findAllDtos();
+
+    @Query(SELECT_DTO + " where r.id = :id")
+    Optional<RestaurantDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " where r.id > :id order by r.id")
+    List<RestaurantDto> findDtosByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    @Query(SELECT_DTO + " order by r.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + StreamingSupport.FETCH_SIZE))
+    Stream<RestaurantDto> streamAllDtos();
 }
@@ -1,9 +1,48 @@
 package com.example.restaurantbookingservice.repository;
 
+import com.example.restaurantbookingservice.dto.RestaurantTableDto;
 import com.example.restaurantbookingservice.model.RestaurantTable;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface RestaurantTableRepository extends JpaRepository<RestaurantTable, Long> {
+
+    // Reads the restaurant id from the foreign key column, so no join and no entity is loaded.
+    String SELECT_DTO = "select new com.example.restaurantbookingservice.dto.RestaurantTableDto("
+            + "t.id, t.tableNumber, t.capacity, t.restaurant.id, t.version) from RestaurantTable t";
+
     List<RestaurantTable> findByRestaurantId(Long restaurantId);
+
+    @Query(SELECT_DTO)
+    List<RestaurantTableDto> findAllDtos();
+
+    @Query("select j.id from RestaurantTable t join t.joinableTables j where t.id = :id order by j.id")
+    List<Long> findJoinableTableIds(@Param("id") Long id);
+
+    // Each row is a (table id, joinable table id) pair; both directions are returned.
+    @Query("select t.id, j.id from RestaurantTable t join t.joinableTables j where t.restaurant.id = :restaurantId")
+    List<Object[]> findJoinableIdPairsByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    @Query(SELECT_DTO + " where t.id = :id")
+    Optional<RestaurantTableDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " where t.restaurant.id = :restaurantId")
+    List<RestaurantTableDto> findDtosByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    @Query(SELECT_DTO + " where t.id > :id order by t.id")
+    List<RestaurantTableDto> findDtosByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    @Query(SELECT_DTO + " order by t.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + StreamingSupport.FETCH_SIZE))
+    Stream<RestaurantTableDto> streamAllDtos();
 }
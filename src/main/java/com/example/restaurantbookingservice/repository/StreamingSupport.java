@@ -0,0 +1,33 @@
+package com.example.restaurantbookingservice.repository;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Walks a repository {@link Stream} row by row, clearing the persistence context every
+ * {@link #FETCH_SIZE} rows so memory stays flat no matter how many rows the cursor returns.
+ * Must be called inside a transaction that keeps the cursor open.
+ */
+public final class StreamingSupport {
+
+    public static final int FETCH_SIZE = 500;
+
+    private StreamingSupport() {
+    }
+
+    public static <T> void forEach(Stream<T> rows, EntityManager entityManager, Consumer<? super T> action) {
+        try (rows) {
+            Iterator<T> iterator = rows.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++count % FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+}
@@ -1,9 +1,81 @@
 package com.example.restaurantbookingservice.repository;
 
+import com.example.restaurantbookingservice.dto.TimeSlotDto;
 import com.example.restaurantbookingservice.model.TimeSlot;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
+
+    // Reads the table id from the foreign key column, so no join and no entity is loaded.
+    String SELECT_DTO = "select new com.example.restaurantbookingservice.dto.TimeSlotDto("
+            + "t.id, t.startTime, t.endTime, t.restaurantTable.id, t.version, t.capacity, t.remainingSeats) "
+            + "from TimeSlot t";
+
     List<TimeSlot> findByRestaurantTableId(Long restaurantTableId);
+    List<TimeSlot> findByEndTimeAfter(LocalDateTime endTime);
+
+    @Query(SELECT_DTO)
+    List<TimeSlotDto> findAllDtos();
+
+    @Query(SELECT_DTO + " where t.id = :id")
+    Optional<TimeSlotDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " where t.restaurantTable.id = :restaurantTableId")
+    List<TimeSlotDto> findDtosByRestaurantTableId(@Param("restaurantTableId") Long restaurantTableId);
+
+    @Query(SELECT_DTO + " where t.id > :id order by t.id")
+    List<TimeSlotDto> findDtosByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    @Query(SELECT_DTO + " order by t.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + StreamingSupport.FETCH_SIZE))
+    Stream<TimeSlotDto> streamAllDtos();
+
+    // Rows are locked in id order so that two batches over overlapping slots cannot deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from TimeSlot t where t.id in :ids order by t.id")
+    List<TimeSlot> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Takes {@code seats} from a shared slot, or the whole of a whole-table slot, if that much is still free.
+     * Returns 1 when the seats were taken. The row lock is held only until the surrounding transaction ends, and the
+     * version is bumped so that a concurrent edit of the loaded entity cannot write back a stale counter.
+     */
+    @Transactional
+    @Modifying
+    @Query("update TimeSlot t set t.remainingSeats = case when t.capacity is null then 0 "
+            + "else t.remainingSeats - :seats end, t.version = t.version + 1 "
+            + "where t.id = :id and t.remainingSeats > 0 and (t.capacity is null or t.remainingSeats >= :seats)")
+    int claimSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    @Transactional
+    @Modifying
+    @Query("update TimeSlot t set t.remainingSeats = case when t.capacity is null then 1 "
+            + "else least(t.remainingSeats + :seats, t.capacity) end, t.version = t.version + 1 where t.id = :id")
+    int releaseSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    @Query("select coalesce(sum(t.version), 0) from TimeSlot t where t.restaurantTable.id = :restaurantTableId")
+    long sumVersionsByRestaurantTableId(@Param("restaurantTableId") Long restaurantTableId);
+
+    @Query("select t from TimeSlot t where t.restaurantTable.id = :restaurantTableId "
+            + "and t.startTime < :to and t.endTime > :from")
+    List<TimeSlot> findOverlapping(@Param("restaurantTableId") Long restaurantTableId,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
 }
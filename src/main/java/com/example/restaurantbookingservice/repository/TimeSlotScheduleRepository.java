@@ -0,0 +1,12 @@
+package com.example.restaurantbookingservice.repository;
+
+import com.example.restaurantbookingservice.model.TimeSlotSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface TimeSlotScheduleRepository extends JpaRepository<TimeSlotSchedule, Long> {
+    @Query("select s.id from TimeSlotSchedule s order by s.id")
+    List<Long> findAllIds();
+}
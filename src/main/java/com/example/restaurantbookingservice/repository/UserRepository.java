@@ -1,10 +1,12 @@
 package com.example.restaurantbookingservice.repository;
 
 import com.example.restaurantbookingservice.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @EntityGraph(User.WITH_ROLES)
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
 }
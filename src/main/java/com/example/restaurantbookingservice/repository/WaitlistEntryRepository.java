@@ -0,0 +1,32 @@
+package com.example.restaurantbookingservice.repository;
+
+import com.example.restaurantbookingservice.dto.WaitlistEntryDto;
+import com.example.restaurantbookingservice.model.WaitlistEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // Reads the time slot id from the foreign key column, so no join and no entity is loaded.
+    String SELECT_DTO = "select new com.example.restaurantbookingservice.dto.WaitlistEntryDto(w.id, w.timeSlot.id, "
+            + "w.numberOfPeople, w.customerName, w.customerPhone, w.customerEmail, w.requestedAt) from WaitlistEntry w";
+
+    @Query(SELECT_DTO + " where w.id = :id")
+    Optional<WaitlistEntryDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " where w.timeSlot.id = :timeSlotId order by w.requestedAt, w.id")
+    List<WaitlistEntryDto> findDtosByTimeSlotId(@Param("timeSlotId") Long timeSlotId);
+
+    /**
+     * The longest-waiting party of at most {@code seats} people. Walks the (timeslot_id, requested_at) index in order
+     * and stops at the first match, so only parties too large for the freed seats are skipped.
+     */
+    @Query("select w from WaitlistEntry w where w.timeSlot.id = :timeSlotId and w.numberOfPeople <= :seats "
+            + "order by w.requestedAt, w.id")
+    List<WaitlistEntry> findNextFitting(@Param("timeSlotId") Long timeSlotId, @Param("seats") int seats, Limit limit);
+}
@@ -0,0 +1,103 @@
+package com.example.restaurantbookingservice.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the hashing and verification of a delegate encoder (BCrypt) on a small dedicated pool with a bounded
+ * queue. At most {@code threads} hashes run at once, so a login storm cannot take every core, and at most
+ * {@code threads + queueCapacity} request threads wait for one. Anything beyond that fails fast with
+ * {@link PasswordHashingOverloadedException}, which is answered with 503.
+ * <p>
+ * The timeout bounds how long a caller waits, not the work. A hash still queued when its caller gives up is taken
+ * off the queue and never runs; one already running cannot be stopped, since BCrypt does not check for interrupts,
+ * and keeps its worker for the length of one hash. Worker time lost to abandoned hashes is therefore bounded by
+ * {@code threads} hashes in flight.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final long timeoutMillis;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeout.toMillis();
+
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingOverloadedException("Password hashing queue is full");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(future);
+            throw new PasswordHashingOverloadedException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingOverloadedException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Frees the queue slot right away rather than when a worker reaches the cancelled task.
+    private void abandon(Future<?> future) {
+        future.cancel(false);
+        if (future instanceof Runnable queued) {
+            executor.remove(queued);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.restaurantbookingservice.security;
+
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.restaurantbookingservice.security.jwt;
 
+import com.example.restaurantbookingservice.security.services.TokenRevocationService;
 import com.example.restaurantbookingservice.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,6 +10,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +27,12 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Value("${restaurantbookingservice.app.jwtStatelessAuthentication:false}")
+    private boolean statelessAuthentication;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
@@ -31,10 +40,12 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Claims claims = jwt != null ? jwtUtils.parseClaims(jwt) : null;
+            if (claims != null && !tokenRevocationService.isRevoked(claims.getSubject(), claims.getIssuedAt())) {
+                UserDetails userDetails = statelessAuthentication ? jwtUtils.getUserDetailsFromClaims(claims) : null;
+                if (userDetails == null) {
+                    userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+                }
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
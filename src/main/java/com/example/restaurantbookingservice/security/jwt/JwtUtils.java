@@ -4,52 +4,73 @@ import com.example.restaurantbookingservice.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLES_CLAIM = "roles";
+
     @Value("${restaurantbookingservice.app.jwtSecret}")
     private String jwtSecret;
 
     @Value("${restaurantbookingservice.app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
+    private Key key;
+
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
+
     public String generateJwtToken(Authentication authentication) {
 
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
 
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername()))
+                .claim(USER_ID_CLAIM, userPrincipal.getId())
+                .claim(ROLES_CLAIM, roles)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
-    }
-
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the token and returns its claims, or {@code null} if it is not a valid signed token. This is the
+     * single parse done per authenticated request.
+     */
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
+        } catch (SignatureException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
@@ -58,6 +79,32 @@ public class JwtUtils {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    /**
+     * Rebuilds the principal from the id and roles embedded by {@link #generateJwtToken(Authentication)}, or
+     * returns {@code null} for tokens issued before those claims existed.
+     */
+    public UserDetailsImpl getUserDetailsFromClaims(Claims claims) {
+        Number id = claims.get(USER_ID_CLAIM, Number.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (id == null || roles == null) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .collect(Collectors.toList());
+
+        return new UserDetailsImpl(id.longValue(), claims.getSubject(), null, authorities);
+    }
+
+    public String getUserNameFromJwtToken(String token) {
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return parseClaims(authToken) != null;
     }
 }
@@ -0,0 +1,45 @@
+package com.example.restaurantbookingservice.security.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks, per username, the instant before which issued tokens are no longer accepted. Needed once tokens are
+ * trusted without a user lookup, so that credential or role changes take effect before the token expires.
+ * Revocations are kept in memory and only apply to this instance; behind a load balancer the other instances
+ * accept a revoked token until it expires, so stateless authentication is bounded by the token lifetime there.
+ */
+@Service
+public class TokenRevocationService {
+
+    private final Map<String, Instant> revokedBefore = new ConcurrentHashMap<>();
+
+    @Value("${restaurantbookingservice.app.jwtRevocationCheck:true}")
+    private boolean enabled;
+
+    /**
+     * Rejects every token issued to the user up to now. The JWT issued-at claim only has second precision, so
+     * the cut-off is truncated to the second: tokens issued later within the same second stay valid.
+     */
+    public void revokeTokensIssuedBefore(String username, Instant instant) {
+        revokedBefore.merge(username, instant.truncatedTo(ChronoUnit.SECONDS),
+                (current, candidate) -> current.isAfter(candidate) ? current : candidate);
+    }
+
+    public boolean isRevoked(String username, Date issuedAt) {
+        if (!enabled) {
+            return false;
+        }
+        Instant cutoff = revokedBefore.get(username);
+        if (cutoff == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.toInstant().isBefore(cutoff);
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.restaurantbookingservice.security.services;
 
+import com.example.restaurantbookingservice.config.CacheConfig;
 import com.example.restaurantbookingservice.model.User;
 import com.example.restaurantbookingservice.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -15,6 +17,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     UserRepository userRepository;
 
     @Override
+    @Cacheable(CacheConfig.USER_DETAILS_CACHE)
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
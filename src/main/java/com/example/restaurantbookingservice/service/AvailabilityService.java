@@ -0,0 +1,567 @@
+package com.example.restaurantbookingservice.service;
+
+import com.example.restaurantbookingservice.dto.AvailableTimeSlotDto;
+import com.example.restaurantbookingservice.model.RestaurantTable;
+import com.example.restaurantbookingservice.model.TimeSlot;
+import com.example.restaurantbookingservice.repository.RestaurantTableRepository;
+import com.example.restaurantbookingservice.repository.TimeSlotRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory view of which table time is offered and which is booked.
+ * <p>
+ * Every table keeps two bitsets with one bit per {@value #QUANTUM_MINUTES}-minute quantum over a rolling
+ * horizon: time covered by a {@link TimeSlot} and time covered by one with any seat taken. Questions inside the
+ * horizon are answered from the bitsets, anything beyond it from the table's sorted slot set, so neither path
+ * touches the database. Changes are applied after the surrounding transaction commits.
+ * <p>
+ * Each slot also carries its remaining seats. A shared slot is offered to a party only while that many seats are
+ * left, and is booked once none are; the table itself counts as free only while none of its seats are taken.
+ */
+@Service
+public class AvailabilityService {
+
+    static final int QUANTUM_MINUTES = 15;
+    private static final int QUANTA_PER_DAY = 24 * 60 / QUANTUM_MINUTES;
+    private static final long QUANTUM_SECONDS = QUANTUM_MINUTES * 60L;
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityService.class);
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Value("${restaurantbookingservice.app.availability.horizonDays:60}")
+    private int horizonDays = 60;
+
+    private static final Comparator<AvailableTimeSlotDto> SEARCH_ORDER =
+            Comparator.comparing(AvailableTimeSlotDto::getStartTime)
+                    .thenComparing(AvailableTimeSlotDto::getTimeSlotId);
+
+    private final Map<Long, TableOccupancy> tables = new ConcurrentHashMap<>();
+    private final Map<Long, SlotEntry> slots = new ConcurrentHashMap<>();
+
+    // Table ids of each restaurant bucketed by capacity, so a best-fit lookup starts at the smallest table that fits.
+    private final Map<Long, NavigableMap<Integer, Set<Long>>> tablesByCapacity = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDateTime horizonStart = LocalDate.now().atStartOfDay();
+        tables.clear();
+        slots.clear();
+        tablesByCapacity.clear();
+        for (RestaurantTable table : restaurantTableRepository.findAll()) {
+            putTable(table);
+        }
+        for (TimeSlot timeSlot : timeSlotRepository.findByEndTimeAfter(horizonStart)) {
+            register(timeSlot);
+        }
+        logger.info("Availability index built for {} tables and {} time slots", tables.size(), slots.size());
+    }
+
+    @Scheduled(cron = "${restaurantbookingservice.app.availability.rollCron:0 5 0 * * *}")
+    public void advanceHorizon() {
+        LocalDateTime horizonStart = LocalDate.now().atStartOfDay();
+        slots.values().removeIf(slot -> !slot.end.isAfter(horizonStart));
+        for (TableOccupancy table : tables.values()) {
+            table.roll(horizonStart, horizonDays);
+        }
+    }
+
+    public void registerTable(RestaurantTable table) {
+        afterCommit(() -> putTable(table));
+    }
+
+    public void registerTimeSlot(TimeSlot timeSlot) {
+        afterCommit(() -> register(timeSlot));
+    }
+
+    public void registerTimeSlots(Collection<TimeSlot> timeSlots) {
+        afterCommit(() -> timeSlots.forEach(this::register));
+    }
+
+    public void unregisterTimeSlot(Long timeSlotId) {
+        afterCommit(() -> {
+            SlotEntry slot = slots.remove(timeSlotId);
+            if (slot != null) {
+                TableOccupancy table = tables.get(slot.tableId);
+                if (table != null) {
+                    table.remove(slot);
+                }
+            }
+        });
+    }
+
+    public void unregisterTable(Long restaurantTableId) {
+        afterCommit(() -> {
+            TableOccupancy table = tables.remove(restaurantTableId);
+            if (table != null) {
+                table.write(() -> unbucket(restaurantTableId, table));
+                slots.values().removeIf(slot -> slot.tableId.equals(restaurantTableId));
+            }
+        });
+    }
+
+    public void markBooked(Long timeSlotId) {
+        updateRemainingSeats(timeSlotId, 0);
+    }
+
+    /**
+     * Records the seats left in the slot as read in the surrounding transaction.
+     */
+    public void updateRemainingSeats(Long timeSlotId, int remainingSeats) {
+        afterCommit(() -> setRemainingSeats(timeSlotId, remainingSeats));
+    }
+
+    public boolean isTimeSlotBooked(Long timeSlotId) {
+        SlotEntry slot = timeSlotId != null ? slots.get(timeSlotId) : null;
+        return slot != null && slot.isBooked();
+    }
+
+    /**
+     * Returns {@code true} when the whole of {@code [start, end)} is covered by time slots of the table and
+     * none of their seats is taken.
+     */
+    public boolean isTableFree(Long restaurantTableId, LocalDateTime start, LocalDateTime end) {
+        TableOccupancy table = tables.get(restaurantTableId);
+        return table != null && start.isBefore(end) && table.isFree(start, end);
+    }
+
+    public List<Long> findFreeTimeSlotIds(Long restaurantTableId, LocalDateTime from, LocalDateTime to) {
+        TableOccupancy table = tables.get(restaurantTableId);
+        if (table == null) {
+            return List.of();
+        }
+        return table.freeSlots(from, to, slot -> !slot.isTaken()).stream()
+                .map(slot -> slot.id)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Picks a time slot starting at {@code start} with room for the party on the smallest table of the restaurant
+     * that seats it, skipping the slots in {@code excluded}. Buckets are walked from the party size upwards, so the answer
+     * costs one slot lookup per table of the first capacities tried rather than a scan of the restaurant.
+     */
+    public Long findBestFitTimeSlot(Long restaurantId, int partySize, LocalDateTime start, Set<Long> excluded) {
+        NavigableMap<Integer, Set<Long>> buckets = restaurantId != null ? tablesByCapacity.get(restaurantId) : null;
+        if (buckets == null) {
+            return null;
+        }
+        for (Set<Long> bucket : buckets.tailMap(partySize, true).values()) {
+            Long best = null;
+            for (Long tableId : bucket) {
+                TableOccupancy table = tables.get(tableId);
+                SlotEntry slot = table != null ? table.freeSlotStartingAt(start, partySize, excluded) : null;
+                // Lowest id among equally sized tables keeps the choice stable between calls.
+                if (slot != null && (best == null || slot.id < best)) {
+                    best = slot.id;
+                }
+            }
+            if (best != null) {
+                return best;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lists time slots inside {@code [from, to]} with room for {@code partySize} on tables seating at least that
+     * many, ordered by start time, optionally restricted to one restaurant.
+     */
+    public List<AvailableTimeSlotDto> search(Long restaurantId, int partySize, LocalDateTime from, LocalDateTime to,
+                                             int page, int size) {
+        long offset = (long) page * size;
+        long limit = offset + size;
+        PriorityQueue<AvailableTimeSlotDto> latestFirst = new PriorityQueue<>(SEARCH_ORDER.reversed());
+        for (TableOccupancy table : tables.values()) {
+            if (table.capacity < partySize || restaurantId != null && !restaurantId.equals(table.restaurantId)) {
+                continue;
+            }
+            for (SlotEntry slot : table.freeSlots(from, to, slot -> slot.admits(partySize))) {
+                AvailableTimeSlotDto candidate = new AvailableTimeSlotDto(slot.id, table.restaurantId, slot.tableId,
+                        table.tableNumber, table.capacity, slot.start, slot.end);
+                if (latestFirst.size() < limit) {
+                    latestFirst.add(candidate);
+                } else if (SEARCH_ORDER.compare(candidate, latestFirst.peek()) < 0) {
+                    latestFirst.poll();
+                    latestFirst.add(candidate);
+                }
+            }
+        }
+        List<AvailableTimeSlotDto> ordered = new ArrayList<>(latestFirst);
+        ordered.sort(SEARCH_ORDER);
+        int fromIndex = (int) Math.min(offset, ordered.size());
+        return new ArrayList<>(ordered.subList(fromIndex, ordered.size()));
+    }
+
+    private void putTable(RestaurantTable table) {
+        if (table.getId() == null) {
+            return;
+        }
+        TableOccupancy occupancy = tables.computeIfAbsent(table.getId(),
+                id -> new TableOccupancy(LocalDate.now().atStartOfDay(), horizonDays));
+        describe(table.getId(), occupancy, table);
+    }
+
+    // Bucket membership follows the description, so both change under the table's write lock.
+    private void describe(Long tableId, TableOccupancy occupancy, RestaurantTable table) {
+        occupancy.write(() -> {
+            unbucket(tableId, occupancy);
+            occupancy.describe(table);
+            if (occupancy.restaurantId != null) {
+                tablesByCapacity.computeIfAbsent(occupancy.restaurantId, id -> new ConcurrentSkipListMap<>())
+                        .computeIfAbsent(occupancy.capacity, capacity -> ConcurrentHashMap.newKeySet())
+                        .add(tableId);
+            }
+        });
+    }
+
+    private void unbucket(Long tableId, TableOccupancy occupancy) {
+        NavigableMap<Integer, Set<Long>> buckets = occupancy.restaurantId != null
+                ? tablesByCapacity.get(occupancy.restaurantId)
+                : null;
+        Set<Long> bucket = buckets != null ? buckets.get(occupancy.capacity) : null;
+        if (bucket != null) {
+            bucket.remove(tableId);
+        }
+    }
+
+    private void register(TimeSlot timeSlot) {
+        if (timeSlot.getId() == null || timeSlot.getRestaurantTable() == null
+                || timeSlot.getRestaurantTable().getId() == null
+                || timeSlot.getStartTime() == null || timeSlot.getEndTime() == null) {
+            return;
+        }
+        SlotEntry slot = new SlotEntry(timeSlot.getId(), timeSlot.getRestaurantTable().getId(),
+                timeSlot.getStartTime(), timeSlot.getEndTime(), timeSlot.getCapacity());
+        if (timeSlot.getRemainingSeats() != null) {
+            slot.remainingSeats = timeSlot.getRemainingSeats();
+        }
+        SlotEntry previous = slots.put(slot.id, slot);
+        if (previous != null) {
+            if (timeSlot.getRemainingSeats() == null) {
+                slot.remainingSeats = previous.remainingSeats;
+            }
+            TableOccupancy previousTable = tables.get(previous.tableId);
+            if (previousTable != null) {
+                previousTable.remove(previous);
+            }
+        }
+        TableOccupancy table = tables.computeIfAbsent(slot.tableId,
+                id -> new TableOccupancy(LocalDate.now().atStartOfDay(), horizonDays));
+        if (table.restaurantId == null) {
+            // The table may be an uninitialized proxy from a closed session; only its id is safe to read then.
+            RestaurantTable restaurantTable = Hibernate.isInitialized(timeSlot.getRestaurantTable())
+                    && timeSlot.getRestaurantTable().getRestaurant() != null
+                    ? timeSlot.getRestaurantTable()
+                    : restaurantTableRepository.findById(slot.tableId).orElse(null);
+            if (restaurantTable != null) {
+                describe(slot.tableId, table, restaurantTable);
+            }
+        }
+        table.add(slot);
+    }
+
+    private void setRemainingSeats(Long timeSlotId, int remainingSeats) {
+        SlotEntry slot = slots.get(timeSlotId);
+        if (slot == null) {
+            return;
+        }
+        TableOccupancy table = tables.get(slot.tableId);
+        if (table != null) {
+            table.setRemainingSeats(slot, remainingSeats);
+        } else {
+            slot.remainingSeats = remainingSeats;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static final class SlotEntry {
+        static final Comparator<SlotEntry> BY_START = Comparator.comparing((SlotEntry slot) -> slot.start)
+                .thenComparing(slot -> slot.id);
+
+        final Long id;
+        final Long tableId;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        // Seats of a shared slot; null when one booking takes the whole table.
+        final Integer capacity;
+        volatile int remainingSeats;
+
+        SlotEntry(Long id, Long tableId, LocalDateTime start, LocalDateTime end, Integer capacity) {
+            this.id = id;
+            this.tableId = tableId;
+            this.start = start;
+            this.end = end;
+            this.capacity = capacity;
+            this.remainingSeats = capacity != null ? capacity : 1;
+        }
+
+        static SlotEntry probe(LocalDateTime start, long id) {
+            return new SlotEntry(id, null, start, start, null);
+        }
+
+        boolean isBooked() {
+            return remainingSeats == 0;
+        }
+
+        boolean isTaken() {
+            return remainingSeats < (capacity != null ? capacity : 1);
+        }
+
+        boolean admits(int partySize) {
+            return remainingSeats > 0 && (capacity == null || remainingSeats >= partySize);
+        }
+    }
+
+    static final class TableOccupancy {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile Long restaurantId;
+        private volatile int tableNumber;
+        private volatile int capacity;
+        private final NavigableSet<SlotEntry> slots = new TreeSet<>(SlotEntry.BY_START);
+        private LocalDateTime origin;
+        private int quanta;
+        private BitSet offered;
+        private BitSet booked;
+        private Duration longestSlot = Duration.ZERO;
+
+        TableOccupancy(LocalDateTime origin, int horizonDays) {
+            this.origin = origin;
+            this.quanta = horizonDays * QUANTA_PER_DAY;
+            this.offered = new BitSet(quanta);
+            this.booked = new BitSet(quanta);
+        }
+
+        void describe(RestaurantTable table) {
+            tableNumber = table.getTableNumber();
+            capacity = table.getCapacity();
+            restaurantId = table.getRestaurant() != null ? table.getRestaurant().getId() : null;
+        }
+
+        void add(SlotEntry slot) {
+            write(() -> {
+                slots.add(slot);
+                Duration length = Duration.between(slot.start, slot.end);
+                if (length.compareTo(longestSlot) > 0) {
+                    longestSlot = length;
+                }
+                markOffered(slot);
+                if (slot.isTaken()) {
+                    markBooked(slot);
+                }
+            });
+        }
+
+        void remove(SlotEntry slot) {
+            write(() -> {
+                if (slots.remove(slot)) {
+                    recompute(slot.start, slot.end);
+                }
+            });
+        }
+
+        void setRemainingSeats(SlotEntry slot, int remainingSeats) {
+            write(() -> {
+                boolean wasTaken = slot.isTaken();
+                slot.remainingSeats = remainingSeats;
+                if (slot.isTaken()) {
+                    markBooked(slot);
+                } else if (wasTaken) {
+                    recompute(slot.start, slot.end);
+                }
+            });
+        }
+
+        void roll(LocalDateTime newOrigin, int horizonDays) {
+            write(() -> {
+                slots.removeIf(slot -> !slot.end.isAfter(newOrigin));
+                origin = newOrigin;
+                quanta = horizonDays * QUANTA_PER_DAY;
+                offered = new BitSet(quanta);
+                booked = new BitSet(quanta);
+                for (SlotEntry slot : slots) {
+                    markOffered(slot);
+                    if (slot.isTaken()) {
+                        markBooked(slot);
+                    }
+                }
+            });
+        }
+
+        boolean isFree(LocalDateTime start, LocalDateTime end) {
+            Lock readLock = lock.readLock();
+            readLock.lock();
+            try {
+                long from = floorQuantum(start);
+                long to = ceilQuantum(end);
+                if (from >= 0 && to <= quanta) {
+                    int nextBooked = booked.nextSetBit((int) from);
+                    return offered.nextClearBit((int) from) >= to && (nextBooked < 0 || nextBooked >= to);
+                }
+                return isFreeFromSlots(start, end);
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        SlotEntry freeSlotStartingAt(LocalDateTime start, int partySize, Set<Long> excluded) {
+            Lock readLock = lock.readLock();
+            readLock.lock();
+            try {
+                for (SlotEntry slot : slots.subSet(SlotEntry.probe(start, Long.MIN_VALUE), true,
+                        SlotEntry.probe(start, Long.MAX_VALUE), true)) {
+                    if (slot.admits(partySize) && !excluded.contains(slot.id)) {
+                        return slot;
+                    }
+                }
+                return null;
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        List<SlotEntry> freeSlots(LocalDateTime from, LocalDateTime to, Predicate<SlotEntry> available) {
+            Lock readLock = lock.readLock();
+            readLock.lock();
+            try {
+                List<SlotEntry> result = new ArrayList<>();
+                for (SlotEntry slot : slots.subSet(SlotEntry.probe(from, Long.MIN_VALUE), true,
+                        SlotEntry.probe(to, Long.MAX_VALUE), true)) {
+                    if (available.test(slot) && !slot.end.isAfter(to)) {
+                        result.add(slot);
+                    }
+                }
+                return result;
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        private boolean isFreeFromSlots(LocalDateTime start, LocalDateTime end) {
+            LocalDateTime covered = start;
+            for (SlotEntry slot : overlapping(start, end)) {
+                if (slot.isTaken()) {
+                    return false;
+                }
+                if (!slot.start.isAfter(covered) && slot.end.isAfter(covered)) {
+                    covered = slot.end;
+                }
+            }
+            return !covered.isBefore(end);
+        }
+
+        private List<SlotEntry> overlapping(LocalDateTime start, LocalDateTime end) {
+            List<SlotEntry> result = new ArrayList<>();
+            for (SlotEntry slot : slots.subSet(SlotEntry.probe(start.minus(longestSlot), Long.MIN_VALUE), true,
+                    SlotEntry.probe(end, Long.MIN_VALUE), false)) {
+                if (slot.end.isAfter(start)) {
+                    result.add(slot);
+                }
+            }
+            return result;
+        }
+
+        private void recompute(LocalDateTime start, LocalDateTime end) {
+            int from = (int) Math.max(0, floorQuantum(start));
+            int to = (int) Math.min(quanta, ceilQuantum(end));
+            if (from >= to) {
+                return;
+            }
+            offered.clear(from, to);
+            booked.clear(from, to);
+            for (SlotEntry slot : overlapping(quantumStart(from), quantumStart(to))) {
+                markOffered(slot);
+                if (slot.isTaken()) {
+                    markBooked(slot);
+                }
+            }
+        }
+
+        // Offered time is rounded inwards and booked time outwards, so a partially covered quantum never
+        // reports as free.
+        private void markOffered(SlotEntry slot) {
+            int from = (int) Math.max(0, ceilQuantum(slot.start));
+            int to = (int) Math.min(quanta, floorQuantum(slot.end));
+            if (from < to) {
+                offered.set(from, to);
+            }
+        }
+
+        private void markBooked(SlotEntry slot) {
+            int from = (int) Math.max(0, floorQuantum(slot.start));
+            int to = (int) Math.min(quanta, ceilQuantum(slot.end));
+            if (from < to) {
+                booked.set(from, to);
+            }
+        }
+
+        private long floorQuantum(LocalDateTime time) {
+            return Math.floorDiv(Duration.between(origin, time).toSeconds(), QUANTUM_SECONDS);
+        }
+
+        private long ceilQuantum(LocalDateTime time) {
+            return -Math.floorDiv(-Duration.between(origin, time).toSeconds(), QUANTUM_SECONDS);
+        }
+
+        private LocalDateTime quantumStart(int quantum) {
+            return origin.plusMinutes((long) quantum * QUANTUM_MINUTES);
+        }
+
+        private void write(Runnable action) {
+            Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                action.run();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+}
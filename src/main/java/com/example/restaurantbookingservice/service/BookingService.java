@@ -1,52 +1,298 @@
 package com.example.restaurantbookingservice.service;
 
+import com.example.restaurantbookingservice.dto.BookingAssignmentDto;
+import com.example.restaurantbookingservice.dto.BookingBatchResultDto;
 import com.example.restaurantbookingservice.dto.BookingDto;
+import com.example.restaurantbookingservice.dto.TimeSlotDto;
 import com.example.restaurantbookingservice.mapper.BookingMapper;
 import com.example.restaurantbookingservice.model.Booking;
+import com.example.restaurantbookingservice.model.TimeSlot;
 import com.example.restaurantbookingservice.repository.BookingRepository;
+import com.example.restaurantbookingservice.repository.StreamingSupport;
+import com.example.restaurantbookingservice.repository.TimeSlotRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
 
+    static final int MAX_BATCH_SIZE = 100;
+
+    private static final int MAX_ASSIGNMENT_ATTEMPTS = 3;
+
     @Autowired
     private BookingRepository bookingRepository;
 
     @Autowired
     private BookingMapper bookingMapper;
 
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public List<BookingDto> getAllBookings() {
-        return bookingRepository.findAll().stream()
-                .map(bookingMapper::toDto)
-                .collect(Collectors.toList());
+        return bookingRepository.findAllDtos();
+    }
+
+    public List<BookingDto> getBookingsAfter(Long afterId, int limit) {
+        return bookingRepository.findDtosByIdGreaterThan(afterId, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachBooking(Consumer<BookingDto> action) {
+        StreamingSupport.forEach(bookingRepository.streamAllDtos(), entityManager, action);
     }
 
     public BookingDto getBookingById(Long id) {
-        return bookingRepository.findById(id)
-                .map(bookingMapper::toDto)
-                .orElse(null);
+        return bookingRepository.findDtoById(id).orElse(null);
     }
 
     public List<BookingDto> getBookingsByTimeSlotId(Long timeSlotId) {
-        return bookingRepository.findByTimeSlotId(timeSlotId).stream()
-                .map(bookingMapper::toDto)
-                .collect(Collectors.toList());
+        return bookingRepository.findDtosByTimeSlotId(timeSlotId);
     }
 
+    /**
+     * Admits the booking if its time slot still has room: the whole slot for a whole-table slot, the party's seats
+     * for a shared one. The seats are taken with one conditional update of the slot row, so concurrent admissions
+     * to the same slot, on this or another instance, serialize only on that row for the length of a short
+     * transaction.
+     */
     public BookingDto addBooking(BookingDto bookingDto) {
-        List<Booking> bookings = bookingRepository.findByTimeSlotId(bookingDto.getTimeSlotId());
-        if (bookings.isEmpty()) {
-            Booking booking = bookingMapper.toEntity(bookingDto);
-            return bookingMapper.toDto(bookingRepository.save(booking));
+        Long timeSlotId = bookingDto.getTimeSlotId();
+        if (timeSlotId == null || availabilityService.isTimeSlotBooked(timeSlotId) && isFullInDatabase(timeSlotId)) {
+            return null;
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                if (timeSlotRepository.claimSeats(timeSlotId, seatsFor(bookingDto.getNumberOfPeople())) == 0) {
+                    return null;
+                }
+                Booking booking = bookingMapper.toEntity(bookingDto);
+                // A reference rather than the mapper's bare TimeSlot, which has an id but no version.
+                booking.setTimeSlot(entityManager.getReference(TimeSlot.class, timeSlotId));
+                BookingDto saved = bookingMapper.toDto(bookingRepository.save(booking));
+                seatsChanged(timeSlotId);
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    // The index is local to this instance and misses cancellations made on others, so a booked hit is confirmed with
+    // a plain read of the row, which takes no lock, and corrected in the index when seats have come free.
+    private boolean isFullInDatabase(Long timeSlotId) {
+        TimeSlotDto timeSlot = timeSlotRepository.findDtoById(timeSlotId).orElse(null);
+        if (timeSlot == null) {
+            return true;
+        }
+        if (timeSlot.getRemainingSeats() > 0) {
+            availabilityService.updateRemainingSeats(timeSlotId, timeSlot.getRemainingSeats());
+        }
+        return timeSlot.getRemainingSeats() == 0;
+    }
+
+    /**
+     * Books the best-fitting table for the party instead of a slot chosen by the client: the smallest table of the
+     * restaurant with a free slot at the requested time. A slot taken between the lookup and the insert is skipped
+     * and the next best one tried, a bounded number of times. Returns null when nothing fits.
+     */
+    public BookingDto assignBooking(BookingAssignmentDto assignmentDto) {
+        if (assignmentDto.getRestaurantId() == null || assignmentDto.getStartTime() == null
+                || assignmentDto.getNumberOfPeople() < 1) {
+            return null;
+        }
+        Set<Long> tried = new HashSet<>();
+        for (int attempt = 0; attempt < MAX_ASSIGNMENT_ATTEMPTS; attempt++) {
+            Long timeSlotId = availabilityService.findBestFitTimeSlot(assignmentDto.getRestaurantId(),
+                    assignmentDto.getNumberOfPeople(), assignmentDto.getStartTime(), tried);
+            if (timeSlotId == null) {
+                return null;
+            }
+            BookingDto booking = addBooking(new BookingDto(null, timeSlotId, assignmentDto.getNumberOfPeople(),
+                    assignmentDto.getCustomerName(), assignmentDto.getCustomerPhone(),
+                    assignmentDto.getCustomerEmail(), null));
+            if (booking != null) {
+                return booking;
+            }
+            tried.add(timeSlotId);
         }
         return null;
     }
 
+    /**
+     * Admits a batch of bookings in one transaction. Conflicts are checked with one query for the whole batch and
+     * the rows are inserted as JDBC batches. In all-or-nothing mode a single unavailable time slot rejects the
+     * batch; in best-effort mode only the unavailable entries are rejected. Returns null for an empty or oversized
+     * batch.
+     */
+    public BookingBatchResultDto addBookings(List<BookingDto> bookingDtos, boolean allOrNothing) {
+        if (bookingDtos == null || bookingDtos.isEmpty() || bookingDtos.size() > MAX_BATCH_SIZE) {
+            return null;
+        }
+        try {
+            return transactionTemplate.execute(status -> admit(bookingDtos, allOrNothing));
+        } catch (DataIntegrityViolationException e) {
+            // One of the bookings referenced a missing row; the insert rolled back as a whole.
+            return new BookingBatchResultDto(List.of(), bookingDtos);
+        }
+    }
+
+    private BookingBatchResultDto admit(List<BookingDto> bookingDtos, boolean allOrNothing) {
+        Set<Long> requested = bookingDtos.stream()
+                .map(BookingDto::getTimeSlotId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, TimeSlot> timeSlots = new HashMap<>();
+        Map<Long, Integer> remaining = new HashMap<>();
+        if (!requested.isEmpty()) {
+            for (TimeSlot timeSlot : timeSlotRepository.findAllByIdForUpdate(requested)) {
+                // Single bookings claim seats with bulk updates that bypass the persistence context, so an instance
+                // already held there may be stale; re-read it now that the row is locked.
+                entityManager.refresh(timeSlot);
+                timeSlots.put(timeSlot.getId(), timeSlot);
+                remaining.put(timeSlot.getId(), timeSlot.getRemainingSeats());
+            }
+        }
+
+        List<BookingDto> rejected = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>(bookingDtos.size());
+        for (BookingDto bookingDto : bookingDtos) {
+            TimeSlot timeSlot = bookingDto.getTimeSlotId() != null ? timeSlots.get(bookingDto.getTimeSlotId()) : null;
+            if (timeSlot == null || !take(remaining, timeSlot, seatsFor(bookingDto.getNumberOfPeople()))) {
+                rejected.add(bookingDto);
+                continue;
+            }
+            Booking booking = bookingMapper.toEntity(bookingDto);
+            booking.setTimeSlot(timeSlot);
+            bookings.add(booking);
+        }
+        if (allOrNothing && !rejected.isEmpty()) {
+            return new BookingBatchResultDto(List.of(), bookingDtos);
+        }
+
+        remaining.forEach((id, seats) -> timeSlots.get(id).setRemainingSeats(seats));
+        bookingRepository.saveAll(bookings);
+        entityManager.flush();
+        for (TimeSlot timeSlot : timeSlots.values()) {
+            availabilityService.updateRemainingSeats(timeSlot.getId(), timeSlot.getRemainingSeats());
+            resourceVersionService.seatsChanged(timeSlot.getRestaurantTable().getId());
+        }
+        return new BookingBatchResultDto(bookings.stream().map(bookingMapper::toDto).collect(Collectors.toList()),
+                rejected);
+    }
+
+    // The in-memory counterpart of TimeSlotRepository.claimSeats for slots already locked by the batch.
+    private static boolean take(Map<Long, Integer> remaining, TimeSlot timeSlot, int seats) {
+        int free = remaining.get(timeSlot.getId());
+        int taken = timeSlot.getCapacity() == null ? free : seats;
+        if (free == 0 || taken > free) {
+            return false;
+        }
+        remaining.put(timeSlot.getId(), free - taken);
+        return true;
+    }
+
+    /**
+     * Updates the party and contact details; a booking is not moved to another time slot this way. On a shared slot
+     * a larger party claims the extra seats like a new booking and is rejected if they are gone, and a smaller one
+     * hands the seats it no longer needs to the waitlist.
+     */
+    public BookingDto updateBooking(Long id, BookingDto bookingDto) {
+        Booking saved = optimisticLockRetry.execute(() -> {
+            Booking booking = bookingRepository.findWithTimeSlotById(id).orElse(null);
+            if (booking == null) {
+                return null;
+            }
+            OptimisticLockRetry.checkVersion(Booking.class, id, bookingDto.getVersion(), booking.getVersion());
+            TimeSlot timeSlot = booking.getTimeSlot();
+            if (timeSlot != null && timeSlot.getCapacity() != null
+                    && !resizeClaim(timeSlot.getId(), booking.getNumberOfPeople(), bookingDto.getNumberOfPeople())) {
+                return null;
+            }
+            booking.setNumberOfPeople(bookingDto.getNumberOfPeople());
+            booking.setCustomerName(bookingDto.getCustomerName());
+            booking.setCustomerPhone(bookingDto.getCustomerPhone());
+            booking.setCustomerEmail(bookingDto.getCustomerEmail());
+            return bookingRepository.saveAndFlush(booking);
+        });
+        return saved != null ? bookingMapper.toDto(saved) : null;
+    }
+
+    // Moves the seat claim of a booking on a shared slot from one party size to another.
+    private boolean resizeClaim(Long timeSlotId, int fromPeople, int toPeople) {
+        int difference = seatsFor(toPeople) - seatsFor(fromPeople);
+        if (difference > 0 && timeSlotRepository.claimSeats(timeSlotId, difference) == 0) {
+            return false;
+        }
+        if (difference < 0) {
+            timeSlotRepository.releaseSeats(timeSlotId, -difference);
+            waitlistService.promote(timeSlotId);
+        }
+        if (difference != 0) {
+            seatsChanged(timeSlotId);
+        }
+        return true;
+    }
+
+    /**
+     * Cancels the booking and hands its seats to the waitlist of the slot before the transaction commits.
+     */
     public void deleteBooking(Long id) {
-        bookingRepository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> bookingRepository.findById(id).ifPresent(booking -> {
+            Long timeSlotId = booking.getTimeSlot() != null ? booking.getTimeSlot().getId() : null;
+            bookingRepository.delete(booking);
+            if (timeSlotId != null) {
+                timeSlotRepository.releaseSeats(timeSlotId, seatsFor(booking.getNumberOfPeople()));
+                waitlistService.promote(timeSlotId);
+                seatsChanged(timeSlotId);
+            }
+        }));
+    }
+
+    // Listings show the remaining seats, and the availability index offers the slot only to parties that still fit.
+    private void seatsChanged(Long timeSlotId) {
+        timeSlotRepository.findDtoById(timeSlotId).ifPresent(timeSlot -> {
+            availabilityService.updateRemainingSeats(timeSlotId, timeSlot.getRemainingSeats());
+            resourceVersionService.seatsChanged(timeSlot.getRestaurantTableId());
+        });
+    }
+
+    // A party takes at least one seat, whatever the client sent.
+    private static int seatsFor(int numberOfPeople) {
+        return Math.max(numberOfPeople, 1);
     }
 }
@@ -0,0 +1,11 @@
+package com.example.restaurantbookingservice.service;
+
+/**
+ * An {@code Idempotency-Key} was sent again with a request body that differs from the one it was first used with.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency key was already used for a different request: " + key);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.restaurantbookingservice.service;
+
+/**
+ * An {@code Idempotency-Key} was sent again while the first request with it was still running and did not finish
+ * within the wait timeout.
+ */
+public class IdempotencyRequestInProgressException extends RuntimeException {
+
+    public IdempotencyRequestInProgressException(String key) {
+        super("A request with this idempotency key is still in progress: " + key);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.restaurantbookingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of requests sent with an {@code Idempotency-Key} so that a client retrying after a lost
+ * response gets the original result back instead of creating a second row. Only successful results are kept: a
+ * rejected request is run again on retry. Entries hold a digest of the request rather than the request itself and
+ * expire after the configured time; like the other caches the store is local to this instance.
+ */
+@Service
+public class IdempotencyService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Cache<String, Entry> entries;
+
+    private final Duration waitTimeout;
+
+    public IdempotencyService(
+            @Value("${restaurantbookingservice.app.idempotency.maximumSize:100000}") long maximumSize,
+            @Value("${restaurantbookingservice.app.idempotency.expireAfterWrite:24h}") Duration expireAfterWrite,
+            @Value("${restaurantbookingservice.app.idempotency.waitTimeout:10s}") Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /**
+     * Runs the action once per key. A repeated key with the same request returns the first result, waiting for it
+     * if the first request is still running, for at most the configured wait timeout; the same key with a different
+     * request is rejected.
+     */
+    public <T> Result<T> execute(String key, Object request, Supplier<T> action) {
+        byte[] fingerprint = fingerprint(request);
+        Entry created = new Entry(fingerprint);
+        Entry existing = entries.asMap().putIfAbsent(key, created);
+        if (existing != null) {
+            if (!Arrays.equals(existing.fingerprint, fingerprint)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            @SuppressWarnings("unchecked")
+            T value = (T) await(key, existing.result);
+            if (value != null) {
+                return new Result<>(value, true);
+            }
+            // The first attempt was rejected and has been forgotten; run this one as a new request.
+            return execute(key, request, action);
+        }
+
+        T value;
+        try {
+            value = action.get();
+        } catch (RuntimeException | Error e) {
+            entries.asMap().remove(key, created);
+            created.result.complete(null);
+            throw e;
+        }
+        if (value == null) {
+            entries.asMap().remove(key, created);
+        }
+        created.result.complete(value);
+        return new Result<>(value, false);
+    }
+
+    private Object await(String key, CompletableFuture<Object> result) {
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            return null;
+        } catch (TimeoutException e) {
+            throw new IdempotencyRequestInProgressException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyRequestInProgressException(key);
+        }
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsString(request)
+                    .getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint the request", e);
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    public static final class Result<T> {
+        private final T value;
+        private final boolean replayed;
+
+        private Result(T value, boolean replayed) {
+            this.value = value;
+            this.replayed = replayed;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public boolean isReplayed() {
+            return replayed;
+        }
+    }
+}
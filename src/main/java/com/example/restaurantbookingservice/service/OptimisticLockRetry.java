@@ -0,0 +1,69 @@
+package com.example.restaurantbookingservice.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write in its own transaction and re-runs it when another writer bumped the row's
+ * {@code @Version} in between. Each attempt re-reads the row, so a conflict costs one extra round trip instead of
+ * a row lock held for the whole edit. The last failure propagates and is answered with 409.
+ */
+@Component
+public class OptimisticLockRetry {
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${restaurantbookingservice.app.optimisticLock.maxAttempts:3}")
+    private int maxAttempts = 3;
+
+    @Value("${restaurantbookingservice.app.optimisticLock.backoff:20ms}")
+    private Duration backoff = Duration.ofMillis(20);
+
+    public <T> T execute(Supplier<T> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> update.get());
+            } catch (StaleVersionException e) {
+                throw e;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                pause(attempt);
+            }
+        }
+    }
+
+    /**
+     * Rejects the update when the client sent the version it read and the row has moved on since. A request
+     * without a version updates whatever is current.
+     */
+    public static void checkVersion(Class<?> entityClass, Object id, Long expected, Long actual) {
+        if (expected != null && !Objects.equals(expected, actual)) {
+            throw new StaleVersionException(entityClass, id);
+        }
+    }
+
+    // Jittered so that writers which collided once do not collide again on the retry.
+    private void pause(int attempt) {
+        long millis = backoff.toMillis() * attempt;
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(millis / 2, millis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying an optimistic update", e);
+        }
+    }
+}
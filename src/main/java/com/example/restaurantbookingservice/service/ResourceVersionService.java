@@ -0,0 +1,220 @@
+package com.example.restaurantbookingservice.service;
+
+import com.example.restaurantbookingservice.repository.ResourceVersionRepository;
+import com.example.restaurantbookingservice.repository.TimeSlotRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Change counters behind the ETag and Last-Modified headers of the catalog and slot endpoints. The counters live in
+ * the database and are bumped when the transaction that writes the change commits, so every instance sees the same
+ * versions. Reads are served from a short-lived local copy, which lets a conditional GET skip the database for most
+ * polls: this instance's own writes show up on commit, and writes made elsewhere once the copy expires.
+ * <p>
+ * Seat counts change with every booking, so they do not bump a counter, which would make all bookings of a table
+ * queue on one row. A slot list's version also carries the sum of its slots' {@code @Version} values instead, which
+ * every seat claim or release raises.
+ */
+@Service
+public class ResourceVersionService {
+
+    private static final String RESTAURANTS = "restaurants";
+    private static final Version INITIAL = new Version(0, 0);
+
+    @Autowired
+    private ResourceVersionRepository resourceVersionRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Cache<String, Version> versions;
+
+    public ResourceVersionService(
+            @Value("${restaurantbookingservice.app.resourceVersions.expireAfterWrite:5s}") Duration expireAfterWrite) {
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public Version restaurants() {
+        return version(RESTAURANTS);
+    }
+
+    public Version tablesOfRestaurant(Long restaurantId) {
+        return restaurantId == null ? INITIAL : version("tables:" + restaurantId);
+    }
+
+    public Version timeSlotsOfTable(Long restaurantTableId) {
+        if (restaurantTableId == null) {
+            return INITIAL;
+        }
+        return versions.get("timeslots:" + restaurantTableId, key -> {
+            Version slots = read(key);
+            // No Last-Modified: the counter's timestamp does not move when seats do.
+            return new Version(slots.counter, timeSlotRepository.sumVersionsByRestaurantTableId(restaurantTableId), -1);
+        });
+    }
+
+    public void restaurantsChanged() {
+        bump(RESTAURANTS);
+    }
+
+    public void tablesChanged(Long restaurantId) {
+        if (restaurantId != null) {
+            bump("tables:" + restaurantId);
+        }
+    }
+
+    public void timeSlotsChanged(Long restaurantTableId) {
+        if (restaurantTableId != null) {
+            bump("timeslots:" + restaurantTableId);
+        }
+    }
+
+    /**
+     * A slot's seats were claimed or released; this touches no counter row, it only drops the local copy on commit.
+     */
+    public void seatsChanged(Long restaurantTableId) {
+        if (restaurantTableId != null) {
+            afterCommit(() -> versions.invalidate("timeslots:" + restaurantTableId));
+        }
+    }
+
+    // Counters are created under the lock of this one, which therefore has to exist first.
+    @EventListener(ApplicationReadyEvent.class)
+    public void createAnchor() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!resourceVersionRepository.existsById(RESTAURANTS)) {
+                    resourceVersionRepository.create(RESTAURANTS);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // created concurrently by another instance
+        }
+    }
+
+    private Version version(String name) {
+        return versions.get(name, this::read);
+    }
+
+    private Version read(String name) {
+        List<Object[]> rows = resourceVersionRepository.findCounterAndLastModifiedByName(name);
+        return rows.isEmpty() ? INITIAL : new Version((Long) rows.get(0)[0], (Long) rows.get(0)[1]);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void bump(String name) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionTemplate.executeWithoutResult(status -> increment(List.of(name)));
+            versions.invalidate(name);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> names = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(this, names);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    increment(names);
+                }
+
+                // Dropping the local copy before the commit would let a concurrent read cache the old version again.
+                @Override
+                public void afterCommit() {
+                    names.forEach(versions::invalidate);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ResourceVersionService.this);
+                }
+            });
+            pending = names;
+        }
+        pending.add(name);
+    }
+
+    // Counter rows are shared by every write to their collection, so they are locked only while the transaction
+    // commits, and in name order so that concurrent writers cannot deadlock; the anchor sorts before the others.
+    private void increment(Collection<String> names) {
+        if (resourceVersionRepository.countByNameIn(names) < names.size()) {
+            resourceVersionRepository.lock(RESTAURANTS);
+            for (String name : names) {
+                if (!resourceVersionRepository.existsById(name)) {
+                    resourceVersionRepository.create(name);
+                }
+            }
+        }
+        long now = System.currentTimeMillis();
+        names.forEach(name -> resourceVersionRepository.increment(name, now));
+    }
+
+    public static final class Version {
+        private final long counter;
+        private final Long slotVersions;
+        private final long lastModified;
+
+        public Version(long counter, long lastModified) {
+            this(counter, null, lastModified);
+        }
+
+        Version(long counter, Long slotVersions, long lastModified) {
+            this.counter = counter;
+            this.slotVersions = slotVersions;
+            this.lastModified = lastModified;
+        }
+
+        public String getETag() {
+            return "\"" + counter + (slotVersions == null ? "" : "-" + slotVersions) + "\"";
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Version other && counter == other.counter
+                    && Objects.equals(slotVersions, other.slotVersions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(counter, slotVersions);
+        }
+    }
+}
@@ -1,46 +1,89 @@
 package com.example.restaurantbookingservice.service;
 
+import com.example.restaurantbookingservice.config.CacheConfig;
 import com.example.restaurantbookingservice.dto.RestaurantDto;
 import com.example.restaurantbookingservice.mapper.RestaurantMapper;
 import com.example.restaurantbookingservice.model.Restaurant;
 import com.example.restaurantbookingservice.repository.RestaurantRepository;
+import com.example.restaurantbookingservice.repository.StreamingSupport;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 public class RestaurantService {
 
+    private static final String CATALOG_KEY = "'all'";
+
     @Autowired
     private RestaurantRepository restaurantRepository;
 
     @Autowired
     private RestaurantMapper restaurantMapper;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // sync: concurrent misses load once, and an eviction cannot be overtaken by a load that started before it
+    @Cacheable(cacheNames = CacheConfig.RESTAURANTS_CACHE, key = CATALOG_KEY, sync = true)
     public List<RestaurantDto> getAllRestaurants() {
-        return restaurantRepository.findAll().stream()
-                .map(restaurantMapper::toDto)
-                .collect(Collectors.toList());
+        return restaurantRepository.findAllDtos();
+    }
+
+    public List<RestaurantDto> getRestaurantsAfter(Long afterId, int limit) {
+        return restaurantRepository.findDtosByIdGreaterThan(afterId, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachRestaurant(Consumer<RestaurantDto> action) {
+        StreamingSupport.forEach(restaurantRepository.streamAllDtos(), entityManager, action);
     }
 
+    @Cacheable(cacheNames = CacheConfig.RESTAURANT_CACHE, sync = true)
     public RestaurantDto getRestaurantById(Long id) {
-        return restaurantRepository.findById(id)
-                .map(restaurantMapper::toDto)
-                .orElse(null);
+        return restaurantRepository.findDtoById(id).orElse(null);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTS_CACHE, key = CATALOG_KEY),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANT_CACHE, key = "#result.id", condition = "#result != null")
+    })
     public RestaurantDto addRestaurant(RestaurantDto restaurantDto) {
         Restaurant restaurant = restaurantMapper.toEntity(restaurantDto);
-        return restaurantMapper.toDto(restaurantRepository.save(restaurant));
+        RestaurantDto saved = restaurantMapper.toDto(restaurantRepository.save(restaurant));
+        resourceVersionService.restaurantsChanged();
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTS_CACHE, key = CATALOG_KEY),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANT_CACHE, key = "#result.id", condition = "#result != null")
+    })
     public RestaurantDto addRestaurant(Restaurant restaurant) {
-        return restaurantMapper.toDto(restaurantRepository.save(restaurant));
+        RestaurantDto saved = restaurantMapper.toDto(restaurantRepository.save(restaurant));
+        resourceVersionService.restaurantsChanged();
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTS_CACHE, key = CATALOG_KEY),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANT_CACHE)
+    })
     public void deleteRestaurant(Long id) {
         restaurantRepository.deleteById(id);
+        resourceVersionService.restaurantsChanged();
+        resourceVersionService.tablesChanged(id);
     }
 }
@@ -1,11 +1,22 @@
 package com.example.restaurantbookingservice.service;
 
+import com.example.restaurantbookingservice.dto.RestaurantTableDto;
+import com.example.restaurantbookingservice.mapper.RestaurantTableMapper;
 import com.example.restaurantbookingservice.model.RestaurantTable;
 import com.example.restaurantbookingservice.repository.RestaurantTableRepository;
+import com.example.restaurantbookingservice.repository.StreamingSupport;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 public class RestaurantTableService {
@@ -13,23 +24,123 @@ public class RestaurantTableService {
     @Autowired
     private RestaurantTableRepository restaurantTableRepository;
 
-    public List<RestaurantTable> getAllTables() {
-        return restaurantTableRepository.findAll();
+    @Autowired
+    private RestaurantTableMapper restaurantTableMapper;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<RestaurantTableDto> getAllTables() {
+        return restaurantTableRepository.findAllDtos();
+    }
+
+    public List<RestaurantTableDto> getTablesAfter(Long afterId, int limit) {
+        return restaurantTableRepository.findDtosByIdGreaterThan(afterId, Limit.of(limit));
     }
 
-    public RestaurantTable getTableById(Long id) {
-        return restaurantTableRepository.findById(id).orElse(null);
+    @Transactional(readOnly = true)
+    public void forEachTable(Consumer<RestaurantTableDto> action) {
+        StreamingSupport.forEach(restaurantTableRepository.streamAllDtos(), entityManager, action);
     }
 
-    public List<RestaurantTable> getTablesByRestaurantId(Long restaurantId) {
-        return restaurantTableRepository.findByRestaurantId(restaurantId);
+    public RestaurantTableDto getTableById(Long id) {
+        return restaurantTableRepository.findDtoById(id).orElse(null);
     }
 
-    public RestaurantTable addTable(RestaurantTable table) {
-        return restaurantTableRepository.save(table);
+    public List<RestaurantTableDto> getTablesByRestaurantId(Long restaurantId) {
+        return restaurantTableRepository.findDtosByRestaurantId(restaurantId);
+    }
+
+    public RestaurantTableDto addTable(RestaurantTableDto tableDto) {
+        return addTable(restaurantTableMapper.toEntity(tableDto));
+    }
+
+    public RestaurantTableDto addTable(RestaurantTable table) {
+        RestaurantTable saved = restaurantTableRepository.save(table);
+        availabilityService.registerTable(saved);
+        RestaurantTableDto savedDto = restaurantTableMapper.toDto(saved);
+        resourceVersionService.tablesChanged(savedDto.getRestaurantId());
+        return savedDto;
+    }
+
+    public RestaurantTableDto updateTable(Long id, RestaurantTableDto tableDto) {
+        RestaurantTable saved = optimisticLockRetry.execute(() -> {
+            RestaurantTable table = restaurantTableRepository.findById(id).orElse(null);
+            if (table == null) {
+                return null;
+            }
+            OptimisticLockRetry.checkVersion(RestaurantTable.class, id, tableDto.getVersion(), table.getVersion());
+            table.setTableNumber(tableDto.getTableNumber());
+            table.setCapacity(tableDto.getCapacity());
+            return restaurantTableRepository.saveAndFlush(table);
+        });
+        if (saved == null) {
+            return null;
+        }
+        availabilityService.registerTable(saved);
+        RestaurantTableDto savedDto = restaurantTableMapper.toDto(saved);
+        resourceVersionService.tablesChanged(savedDto.getRestaurantId());
+        return savedDto;
+    }
+
+    public List<Long> getJoinableTableIds(Long id) {
+        return restaurantTableRepository.findJoinableTableIds(id);
+    }
+
+    /**
+     * Replaces the tables that can be joined with this one. Links are stored in both directions and only between
+     * tables of the same restaurant; returns null when the table or one of the others does not qualify.
+     */
+    @Transactional
+    public List<Long> setJoinableTables(Long id, List<Long> joinableTableIds) {
+        RestaurantTable table = restaurantTableRepository.findById(id).orElse(null);
+        if (table == null || table.getRestaurant() == null || joinableTableIds == null) {
+            return null;
+        }
+        Set<Long> ids = new HashSet<>(joinableTableIds);
+        List<RestaurantTable> joinable = restaurantTableRepository.findAllById(ids);
+        Long restaurantId = table.getRestaurant().getId();
+        if (ids.contains(id) || joinable.size() != ids.size() || joinable.stream()
+                .anyMatch(other -> other.getRestaurant() == null
+                        || !restaurantId.equals(other.getRestaurant().getId()))) {
+            return null;
+        }
+
+        for (RestaurantTable previous : table.getJoinableTables()) {
+            previous.getJoinableTables().remove(table);
+        }
+        table.getJoinableTables().clear();
+        for (RestaurantTable other : joinable) {
+            table.getJoinableTables().add(other);
+            other.getJoinableTables().add(table);
+        }
+        resourceVersionService.tablesChanged(restaurantId);
+        return ids.stream().sorted().collect(Collectors.toList());
     }
 
+    @Transactional
     public void deleteTable(Long id) {
+        Long restaurantId = restaurantTableRepository.findDtoById(id)
+                .map(RestaurantTableDto::getRestaurantId)
+                .orElse(null);
+        restaurantTableRepository.findById(id).ifPresent(table -> {
+            for (RestaurantTable joinable : table.getJoinableTables()) {
+                joinable.getJoinableTables().remove(table);
+            }
+            table.getJoinableTables().clear();
+        });
         restaurantTableRepository.deleteById(id);
+        availabilityService.unregisterTable(id);
+        resourceVersionService.tablesChanged(restaurantId);
+        resourceVersionService.timeSlotsChanged(id);
     }
 }
@@ -0,0 +1,14 @@
+package com.example.restaurantbookingservice.service;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * The version sent by the client no longer matches the stored row. Unlike a conflict detected at flush time,
+ * re-running the update cannot succeed, so it is reported without retrying.
+ */
+public class StaleVersionException extends ObjectOptimisticLockingFailureException {
+
+    public StaleVersionException(Class<?> persistentClass, Object identifier) {
+        super(persistentClass, identifier);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.restaurantbookingservice.service;
+
+import com.example.restaurantbookingservice.dto.RestaurantTableDto;
+import com.example.restaurantbookingservice.dto.TableAllocationDto;
+import com.example.restaurantbookingservice.repository.RestaurantTableRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seats a party on one table or on a connected group of joinable tables that are all free for the requested time.
+ * The cheapest allocation uses the fewest tables and, among those, leaves the fewest seats empty.
+ * <p>
+ * Every restaurant's tables and joinable links are held as a small adjacency graph that is rebuilt only when the
+ * restaurant's table version moves. A request reads free tables from the availability index and enumerates
+ * connected groups with increasing size, each group exactly once. The search stops at a group size limit and after
+ * a fixed number of visited groups, so a large floor plan costs a bounded amount of work; past the budget the best
+ * group found so far is returned.
+ */
+@Service
+public class TableAllocationService {
+
+    @Autowired
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Value("${restaurantbookingservice.app.allocation.maxTables:4}")
+    private int maxTables = 4;
+
+    @Value("${restaurantbookingservice.app.allocation.searchBudget:20000}")
+    private int searchBudget = 20000;
+
+    private final Map<Long, TableGraph> graphs = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cheapest allocation of free tables for {@code [start, end)}, or null when the party cannot be
+     * seated within the limits.
+     */
+    public TableAllocationDto allocate(Long restaurantId, int partySize, LocalDateTime start, LocalDateTime end) {
+        TableGraph graph = graphOf(restaurantId);
+        BitSet free = new BitSet(graph.size());
+        for (int i = 0; i < graph.size(); i++) {
+            if (availabilityService.isTableFree(graph.tableIds[i], start, end)) {
+                free.set(i);
+            }
+        }
+
+        BitSet best = new Search(graph, free, partySize).run();
+        if (best == null) {
+            return null;
+        }
+        List<Long> tableIds = new ArrayList<>();
+        List<Long> timeSlotIds = new ArrayList<>();
+        int capacity = 0;
+        for (int i = best.nextSetBit(0); i >= 0; i = best.nextSetBit(i + 1)) {
+            tableIds.add(graph.tableIds[i]);
+            timeSlotIds.addAll(availabilityService.findFreeTimeSlotIds(graph.tableIds[i], start, end));
+            capacity += graph.capacities[i];
+        }
+        return new TableAllocationDto(restaurantId, tableIds, capacity, timeSlotIds, start, end);
+    }
+
+    private TableGraph graphOf(Long restaurantId) {
+        ResourceVersionService.Version version = resourceVersionService.tablesOfRestaurant(restaurantId);
+        TableGraph graph = graphs.get(restaurantId);
+        if (graph == null || !graph.version.equals(version)) {
+            graph = buildGraph(restaurantId, version);
+            graphs.put(restaurantId, graph);
+        }
+        return graph;
+    }
+
+    private TableGraph buildGraph(Long restaurantId, ResourceVersionService.Version version) {
+        List<RestaurantTableDto> tables = restaurantTableRepository.findDtosByRestaurantId(restaurantId);
+        TableGraph graph = new TableGraph(version, tables.size());
+        Map<Long, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < tables.size(); i++) {
+            graph.tableIds[i] = tables.get(i).getId();
+            graph.capacities[i] = tables.get(i).getCapacity();
+            indexes.put(graph.tableIds[i], i);
+        }
+        for (Object[] pair : restaurantTableRepository.findJoinableIdPairsByRestaurantId(restaurantId)) {
+            Integer left = indexes.get((Long) pair[0]);
+            Integer right = indexes.get((Long) pair[1]);
+            if (left != null && right != null && !left.equals(right)) {
+                graph.adjacency[left].set(right);
+                graph.adjacency[right].set(left);
+            }
+        }
+        return graph;
+    }
+
+    static final class TableGraph {
+        final ResourceVersionService.Version version;
+        final Long[] tableIds;
+        final int[] capacities;
+        final BitSet[] adjacency;
+
+        TableGraph(ResourceVersionService.Version version, int size) {
+            this.version = version;
+            this.tableIds = new Long[size];
+            this.capacities = new int[size];
+            this.adjacency = new BitSet[size];
+            for (int i = 0; i < size; i++) {
+                adjacency[i] = new BitSet(size);
+            }
+        }
+
+        int size() {
+            return tableIds.length;
+        }
+    }
+
+    /**
+     * Enumerates connected groups of free tables of one size at a time, smallest first. Each group is produced
+     * once: it is grown only from its lowest table, and only with tables that are not yet adjacent to the group.
+     */
+    private final class Search {
+        private final TableGraph graph;
+        private final BitSet free;
+        private final int partySize;
+        private final int largestFree;
+        private int budget = searchBudget;
+        private BitSet best;
+        private int bestSpare = Integer.MAX_VALUE;
+
+        Search(TableGraph graph, BitSet free, int partySize) {
+            this.graph = graph;
+            this.free = free;
+            this.partySize = partySize;
+            int largest = 0;
+            for (int i = free.nextSetBit(0); i >= 0; i = free.nextSetBit(i + 1)) {
+                largest = Math.max(largest, graph.capacities[i]);
+            }
+            this.largestFree = largest;
+        }
+
+        BitSet run() {
+            for (int size = 1; size <= maxTables && best == null && budget > 0; size++) {
+                for (int root = free.nextSetBit(0); root >= 0 && bestSpare > 0 && budget > 0;
+                     root = free.nextSetBit(root + 1)) {
+                    BitSet group = new BitSet(graph.size());
+                    group.set(root);
+                    BitSet extension = neighboursAbove(root, root);
+                    BitSet closed = (BitSet) graph.adjacency[root].clone();
+                    closed.set(root);
+                    extend(group, 1, graph.capacities[root], extension, closed, root, size);
+                }
+            }
+            return best;
+        }
+
+        private void extend(BitSet group, int groupSize, int seats, BitSet extension, BitSet closed, int root,
+                            int size) {
+            budget--;
+            if (groupSize == size) {
+                int spare = seats - partySize;
+                if (spare >= 0 && spare < bestSpare) {
+                    best = (BitSet) group.clone();
+                    bestSpare = spare;
+                }
+                return;
+            }
+            if (budget <= 0 || seats + (long) (size - groupSize) * largestFree < partySize) {
+                return;
+            }
+            BitSet remaining = (BitSet) extension.clone();
+            for (int next = remaining.nextSetBit(0); next >= 0 && bestSpare > 0 && budget > 0;
+                 next = remaining.nextSetBit(0)) {
+                remaining.clear(next);
+                BitSet nextExtension = (BitSet) remaining.clone();
+                BitSet exclusive = neighboursAbove(next, root);
+                exclusive.andNot(closed);
+                nextExtension.or(exclusive);
+                BitSet nextClosed = (BitSet) closed.clone();
+                nextClosed.or(graph.adjacency[next]);
+                group.set(next);
+                extend(group, groupSize + 1, seats + graph.capacities[next], nextExtension, nextClosed, root, size);
+                group.clear(next);
+            }
+        }
+
+        private BitSet neighboursAbove(int table, int root) {
+            BitSet neighbours = (BitSet) graph.adjacency[table].clone();
+            neighbours.and(free);
+            neighbours.clear(0, root + 1);
+            return neighbours;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.restaurantbookingservice.service;
+
+import com.example.restaurantbookingservice.dto.TimeSlotScheduleDto;
+import com.example.restaurantbookingservice.mapper.TimeSlotScheduleMapper;
+import com.example.restaurantbookingservice.model.Restaurant;
+import com.example.restaurantbookingservice.model.RestaurantTable;
+import com.example.restaurantbookingservice.model.TimeSlot;
+import com.example.restaurantbookingservice.model.TimeSlotSchedule;
+import com.example.restaurantbookingservice.repository.RestaurantRepository;
+import com.example.restaurantbookingservice.repository.RestaurantTableRepository;
+import com.example.restaurantbookingservice.repository.TimeSlotRepository;
+import com.example.restaurantbookingservice.repository.TimeSlotScheduleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Generates time slots from {@link TimeSlotSchedule}s. Each run continues from the last generated day up to the
+ * schedule's horizon, skips times already covered by a slot of the table, and inserts in flushed chunks so that JDBC
+ * batching applies and the persistence context stays small. A daily job rolls every schedule forward.
+ */
+@Service
+public class TimeSlotScheduleService {
+
+    static final int MAX_HORIZON_DAYS = 366;
+
+    // Rows persisted between flushes; each flush is sent as JDBC batches of hibernate.jdbc.batch_size.
+    private static final int FLUSH_SIZE = 500;
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSlotScheduleService.class);
+
+    @Autowired
+    private TimeSlotScheduleRepository timeSlotScheduleRepository;
+
+    @Autowired
+    private TimeSlotScheduleMapper timeSlotScheduleMapper;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Generation runs compare against existing slots before inserting, so runs for the same schedule must not
+    // interleave; they are rare enough to simply run one at a time.
+    private final Lock generationLock = new ReentrantLock();
+
+    public List<TimeSlotScheduleDto> getAllSchedules() {
+        return timeSlotScheduleRepository.findAll().stream()
+                .map(timeSlotScheduleMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    public TimeSlotScheduleDto getScheduleById(Long id) {
+        return timeSlotScheduleRepository.findById(id)
+                .map(timeSlotScheduleMapper::toDto)
+                .orElse(null);
+    }
+
+    public TimeSlotScheduleDto addSchedule(TimeSlotScheduleDto scheduleDto) {
+        if (!isValid(scheduleDto)) {
+            return null;
+        }
+        TimeSlotSchedule schedule = timeSlotScheduleMapper.toEntity(scheduleDto);
+        schedule.setId(null);
+        if (scheduleDto.getRestaurantTableId() != null) {
+            RestaurantTable table = restaurantTableRepository.findById(scheduleDto.getRestaurantTableId()).orElse(null);
+            if (table == null) {
+                return null;
+            }
+            schedule.setRestaurantTable(table);
+        } else {
+            Restaurant restaurant = restaurantRepository.findById(scheduleDto.getRestaurantId()).orElse(null);
+            if (restaurant == null) {
+                return null;
+            }
+            schedule.setRestaurant(restaurant);
+        }
+
+        Long id = timeSlotScheduleRepository.save(schedule).getId();
+        generateTimeSlots(id);
+        return getScheduleById(id);
+    }
+
+    /**
+     * Removes the schedule only; slots generated from it so far stay bookable.
+     */
+    public void deleteSchedule(Long id) {
+        timeSlotScheduleRepository.deleteById(id);
+    }
+
+    @Scheduled(cron = "${restaurantbookingservice.app.schedules.cron:0 15 0 * * *}")
+    public void extendAllSchedules() {
+        int created = 0;
+        for (Long id : timeSlotScheduleRepository.findAllIds()) {
+            try {
+                created += generateTimeSlots(id);
+            } catch (RuntimeException e) {
+                logger.error("Failed to extend time slot schedule {}", id, e);
+            }
+        }
+        logger.info("Time slot schedules extended, {} slots created", created);
+    }
+
+    /**
+     * Creates the missing slots of one schedule up to its horizon and returns how many were inserted.
+     */
+    public int generateTimeSlots(Long scheduleId) {
+        generationLock.lock();
+        try {
+            Integer created = transactionTemplate.execute(status -> generate(scheduleId));
+            return created != null ? created : 0;
+        } finally {
+            generationLock.unlock();
+        }
+    }
+
+    private int generate(Long scheduleId) {
+        TimeSlotSchedule schedule = timeSlotScheduleRepository.findById(scheduleId).orElse(null);
+        if (schedule == null) {
+            return 0;
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate from = schedule.getGeneratedThrough() == null || schedule.getGeneratedThrough().isBefore(today)
+                ? today
+                : schedule.getGeneratedThrough().plusDays(1);
+        LocalDate through = today.plusDays(schedule.getHorizonDays() - 1L);
+        if (from.isAfter(through)) {
+            return 0;
+        }
+
+        // Load tables as entities rather than through the schedule's lazy proxy, which cannot be initialized once
+        // the persistence context is cleared between flushes.
+        List<RestaurantTable> tables = schedule.getRestaurantTable() != null
+                ? restaurantTableRepository.findAllById(List.of(schedule.getRestaurantTable().getId()))
+                : restaurantTableRepository.findByRestaurantId(schedule.getRestaurant().getId());
+        List<LocalTime> startsOfDay = startsOfDay(schedule);
+        Set<DayOfWeek> days = schedule.getDaysOfWeek();
+        int slotMinutes = schedule.getSlotMinutes();
+
+        int created = 0;
+        List<TimeSlot> pending = new ArrayList<>(FLUSH_SIZE);
+        for (RestaurantTable table : tables) {
+            NavigableMap<LocalDateTime, LocalDateTime> existing = new TreeMap<>();
+            for (TimeSlot timeSlot : timeSlotRepository.findOverlapping(table.getId(), from.atStartOfDay(),
+                    through.plusDays(1).atStartOfDay())) {
+                existing.merge(timeSlot.getStartTime(), timeSlot.getEndTime(),
+                        (left, right) -> left.isAfter(right) ? left : right);
+            }
+            for (LocalDate date = from; !date.isAfter(through); date = date.plusDays(1)) {
+                if (!days.contains(date.getDayOfWeek())) {
+                    continue;
+                }
+                for (LocalTime start : startsOfDay) {
+                    LocalDateTime startTime = date.atTime(start);
+                    LocalDateTime endTime = startTime.plusMinutes(slotMinutes);
+                    if (overlaps(existing, startTime, endTime)) {
+                        continue;
+                    }
+                    pending.add(new TimeSlot(startTime, endTime, table));
+                    if (pending.size() == FLUSH_SIZE) {
+                        created += flush(pending);
+                    }
+                }
+            }
+        }
+        created += flush(pending);
+
+        // The persistence context may have been cleared, so update the schedule by id rather than through the
+        // possibly detached instance.
+        TimeSlotSchedule current = timeSlotScheduleRepository.findById(scheduleId).orElseThrow();
+        current.setGeneratedThrough(through);
+        return created;
+    }
+
+    private int flush(List<TimeSlot> pending) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<TimeSlot> batch = new ArrayList<>(pending);
+        pending.clear();
+        timeSlotRepository.saveAll(batch);
+        entityManager.flush();
+        entityManager.clear();
+        availabilityService.registerTimeSlots(batch);
+        batch.stream()
+                .map(timeSlot -> timeSlot.getRestaurantTable().getId())
+                .distinct()
+                .forEach(resourceVersionService::timeSlotsChanged);
+        return batch.size();
+    }
+
+    private static boolean overlaps(NavigableMap<LocalDateTime, LocalDateTime> existing, LocalDateTime start,
+                                    LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> latestStartingBefore = existing.lowerEntry(end);
+        return latestStartingBefore != null && latestStartingBefore.getValue().isAfter(start);
+    }
+
+    private static List<LocalTime> startsOfDay(TimeSlotSchedule schedule) {
+        List<LocalTime> starts = new ArrayList<>();
+        int closing = schedule.getClosingTime().toSecondOfDay() / 60;
+        for (int minute = schedule.getOpeningTime().toSecondOfDay() / 60;
+             minute + schedule.getSlotMinutes() <= closing;
+             minute += schedule.getSlotMinutes()) {
+            starts.add(LocalTime.ofSecondOfDay(minute * 60L));
+        }
+        return starts;
+    }
+
+    private static boolean isValid(TimeSlotScheduleDto scheduleDto) {
+        return (scheduleDto.getRestaurantId() == null) != (scheduleDto.getRestaurantTableId() == null)
+                && scheduleDto.getOpeningTime() != null
+                && scheduleDto.getClosingTime() != null
+                && scheduleDto.getOpeningTime().isBefore(scheduleDto.getClosingTime())
+                && scheduleDto.getSlotMinutes() > 0
+                && scheduleDto.getDaysOfWeek() != null && !scheduleDto.getDaysOfWeek().isEmpty()
+                && scheduleDto.getHorizonDays() > 0 && scheduleDto.getHorizonDays() <= MAX_HORIZON_DAYS;
+    }
+}
@@ -1,11 +1,21 @@
 package com.example.restaurantbookingservice.service;
 
+import com.example.restaurantbookingservice.dto.TimeSlotDto;
+import com.example.restaurantbookingservice.mapper.TimeSlotMapper;
+import com.example.restaurantbookingservice.model.RestaurantTable;
 import com.example.restaurantbookingservice.model.TimeSlot;
+import com.example.restaurantbookingservice.repository.StreamingSupport;
 import com.example.restaurantbookingservice.repository.TimeSlotRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class TimeSlotService {
@@ -13,23 +23,99 @@ public class TimeSlotService {
     @Autowired
     private TimeSlotRepository timeSlotRepository;
 
-    public List<TimeSlot> getAllTimeSlots() {
-        return timeSlotRepository.findAll();
+    @Autowired
+    private TimeSlotMapper timeSlotMapper;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<TimeSlotDto> getAllTimeSlots() {
+        return timeSlotRepository.findAllDtos();
+    }
+
+    public List<TimeSlotDto> getTimeSlotsAfter(Long afterId, int limit) {
+        return timeSlotRepository.findDtosByIdGreaterThan(afterId, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachTimeSlot(Consumer<TimeSlotDto> action) {
+        StreamingSupport.forEach(timeSlotRepository.streamAllDtos(), entityManager, action);
+    }
+
+    public TimeSlotDto getTimeSlotById(Long id) {
+        return timeSlotRepository.findDtoById(id).orElse(null);
+    }
+
+    public List<TimeSlotDto> getTimeSlotsByRestaurantTableId(Long restaurantTableId) {
+        return timeSlotRepository.findDtosByRestaurantTableId(restaurantTableId);
     }
 
-    public TimeSlot getTimeSlotById(Long id) {
-        return timeSlotRepository.findById(id).orElse(null);
+    public TimeSlotDto addTimeSlot(TimeSlotDto timeSlotDto) {
+        TimeSlot timeSlot = timeSlotMapper.toEntity(timeSlotDto);
+        if (timeSlotDto.getRestaurantTableId() != null) {
+            timeSlot.setRestaurantTable(entityManager.getReference(RestaurantTable.class,
+                    timeSlotDto.getRestaurantTableId()));
+        }
+        return addTimeSlot(timeSlot);
     }
 
-    public List<TimeSlot> getTimeSlotsByRestaurantTableId(Long restaurantTableId) {
-        return timeSlotRepository.findByRestaurantTableId(restaurantTableId);
+    public TimeSlotDto addTimeSlot(TimeSlot timeSlot) {
+        if (timeSlot.getCapacity() != null && timeSlot.getCapacity() < 1) {
+            return null;
+        }
+        TimeSlot saved;
+        try {
+            saved = timeSlotRepository.save(timeSlot);
+        } catch (DataIntegrityViolationException e) {
+            // overlaps another slot of the same table (exclusion constraint on PostgreSQL)
+            return null;
+        }
+        availabilityService.registerTimeSlot(saved);
+        TimeSlotDto savedDto = timeSlotMapper.toDto(saved);
+        resourceVersionService.timeSlotsChanged(savedDto.getRestaurantTableId());
+        return savedDto;
     }
 
-    public TimeSlot addTimeSlot(TimeSlot timeSlot) {
-        return timeSlotRepository.save(timeSlot);
+    public TimeSlotDto updateTimeSlot(Long id, TimeSlotDto timeSlotDto) {
+        TimeSlot saved;
+        try {
+            saved = optimisticLockRetry.execute(() -> {
+                TimeSlot timeSlot = timeSlotRepository.findById(id).orElse(null);
+                if (timeSlot == null) {
+                    return null;
+                }
+                OptimisticLockRetry.checkVersion(TimeSlot.class, id, timeSlotDto.getVersion(), timeSlot.getVersion());
+                timeSlot.setStartTime(timeSlotDto.getStartTime());
+                timeSlot.setEndTime(timeSlotDto.getEndTime());
+                return timeSlotRepository.saveAndFlush(timeSlot);
+            });
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+        if (saved == null) {
+            return null;
+        }
+        availabilityService.registerTimeSlot(saved);
+        TimeSlotDto savedDto = timeSlotMapper.toDto(saved);
+        resourceVersionService.timeSlotsChanged(savedDto.getRestaurantTableId());
+        return savedDto;
     }
 
     public void deleteTimeSlot(Long id) {
+        Long restaurantTableId = timeSlotRepository.findDtoById(id)
+                .map(TimeSlotDto::getRestaurantTableId)
+                .orElse(null);
         timeSlotRepository.deleteById(id);
+        availabilityService.unregisterTimeSlot(id);
+        resourceVersionService.timeSlotsChanged(restaurantTableId);
     }
 }
@@ -1,10 +1,14 @@
 package com.example.restaurantbookingservice.service;
 
+import com.example.restaurantbookingservice.config.CacheConfig;
 import com.example.restaurantbookingservice.model.User;
 import com.example.restaurantbookingservice.repository.UserRepository;
+import com.example.restaurantbookingservice.security.services.TokenRevocationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Service
@@ -13,6 +17,9 @@ public class UserService {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    TokenRevocationService tokenRevocationService;
+
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
@@ -21,7 +28,14 @@ public class UserService {
         return userRepository.existsByUsername(username);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.USER_DETAILS_CACHE, key = "#user.username")
     public User save(User user) {
-        return userRepository.save(user);
+        boolean existing = user.getId() != null;
+        User saved = userRepository.save(user);
+        if (existing) {
+            // password or roles of an existing account may have changed, so drop tokens carrying the old ones
+            tokenRevocationService.revokeTokensIssuedBefore(saved.getUsername(), Instant.now());
+        }
+        return saved;
     }
 }
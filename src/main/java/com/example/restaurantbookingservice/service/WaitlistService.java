@@ -0,0 +1,123 @@
+package com.example.restaurantbookingservice.service;
+
+import com.example.restaurantbookingservice.dto.TimeSlotDto;
+import com.example.restaurantbookingservice.dto.WaitlistEntryDto;
+import com.example.restaurantbookingservice.mapper.WaitlistEntryMapper;
+import com.example.restaurantbookingservice.model.Booking;
+import com.example.restaurantbookingservice.model.TimeSlot;
+import com.example.restaurantbookingservice.model.WaitlistEntry;
+import com.example.restaurantbookingservice.repository.BookingRepository;
+import com.example.restaurantbookingservice.repository.TimeSlotRepository;
+import com.example.restaurantbookingservice.repository.WaitlistEntryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-slot waitlists. A party may join only while the slot has no room for it, and a cancellation books waiting
+ * parties into the freed seats in the same transaction, so a seat is never visible as free while someone waits for
+ * it. Joins and promotions of a slot hold its row lock, which keeps them from racing each other.
+ */
+@Service
+public class WaitlistService {
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private WaitlistEntryMapper waitlistEntryMapper;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<WaitlistEntryDto> getWaitlist(Long timeSlotId) {
+        return waitlistEntryRepository.findDtosByTimeSlotId(timeSlotId);
+    }
+
+    public WaitlistEntryDto getEntryById(Long id) {
+        return waitlistEntryRepository.findDtoById(id).orElse(null);
+    }
+
+    /**
+     * Queues the party for its time slot. Returns null if the slot does not exist, if the party could never be
+     * seated there, or if it could be booked right away.
+     */
+    public WaitlistEntryDto joinWaitlist(WaitlistEntryDto entryDto) {
+        Long timeSlotId = entryDto.getTimeSlotId();
+        if (timeSlotId == null || entryDto.getNumberOfPeople() < 1) {
+            return null;
+        }
+        return transactionTemplate.execute(status -> {
+            List<TimeSlot> locked = timeSlotRepository.findAllByIdForUpdate(List.of(timeSlotId));
+            if (locked.isEmpty()) {
+                return null;
+            }
+            TimeSlot timeSlot = locked.get(0);
+            // Seat claims are bulk updates, so an instance already in the persistence context may be stale.
+            entityManager.refresh(timeSlot);
+            if (!mustWait(timeSlot, entryDto.getNumberOfPeople())) {
+                return null;
+            }
+            WaitlistEntry entry = waitlistEntryMapper.toEntity(entryDto);
+            entry.setId(null);
+            entry.setTimeSlot(timeSlot);
+            entry.setRequestedAt(LocalDateTime.now());
+            return waitlistEntryMapper.toDto(waitlistEntryRepository.save(entry));
+        });
+    }
+
+    public void leaveWaitlist(Long id) {
+        waitlistEntryRepository.deleteById(id);
+    }
+
+    /**
+     * Books waiting parties into the seats now free in the slot, longest-waiting first among those that fit, and
+     * returns how many were booked. Runs in the transaction that freed the seats, whose update of the slot row
+     * already holds its lock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int promote(Long timeSlotId) {
+        int promoted = 0;
+        while (true) {
+            TimeSlotDto timeSlot = timeSlotRepository.findDtoById(timeSlotId).orElse(null);
+            if (timeSlot == null || timeSlot.getRemainingSeats() == 0) {
+                return promoted;
+            }
+            int seats = timeSlot.getCapacity() == null ? Integer.MAX_VALUE : timeSlot.getRemainingSeats();
+            List<WaitlistEntry> next = waitlistEntryRepository.findNextFitting(timeSlotId, seats, Limit.of(1));
+            if (next.isEmpty() || timeSlotRepository.claimSeats(timeSlotId, next.get(0).getNumberOfPeople()) == 0) {
+                return promoted;
+            }
+            WaitlistEntry entry = next.get(0);
+            bookingRepository.save(new Booking(entry.getTimeSlot(), entry.getNumberOfPeople(),
+                    entry.getCustomerName(), entry.getCustomerPhone(), entry.getCustomerEmail()));
+            waitlistEntryRepository.delete(entry);
+            promoted++;
+        }
+    }
+
+    // The party fits the slot at all, but not into what is free now.
+    private static boolean mustWait(TimeSlot timeSlot, int numberOfPeople) {
+        if (timeSlot.getCapacity() == null) {
+            return numberOfPeople <= timeSlot.getRestaurantTable().getCapacity() && timeSlot.getRemainingSeats() == 0;
+        }
+        return numberOfPeople <= timeSlot.getCapacity() && numberOfPeople > timeSlot.getRemainingSeats();
+    }
+}
@@ -0,0 +1,137 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update. Every statement is idempotent so that
+-- databases created that way can be baselined at version 0 and brought under migration control as they are.
+
+create sequence if not exists booking_seq start with 1 increment by 50;
+create sequence if not exists restaurant_seq start with 1 increment by 50;
+create sequence if not exists restaurant_table_seq start with 1 increment by 50;
+create sequence if not exists time_slot_schedule_seq start with 1 increment by 50;
+create sequence if not exists time_slot_seq start with 1 increment by 50;
+create sequence if not exists users_seq start with 1 increment by 50;
+
+create table if not exists restaurant (
+    id bigint not null,
+    address varchar(255),
+    email varchar(255),
+    name varchar(255),
+    phone varchar(255),
+    primary key (id)
+);
+
+create table if not exists restaurant_table (
+    capacity integer not null,
+    table_number integer not null,
+    id bigint not null,
+    restaurant_id bigint,
+    primary key (id)
+);
+
+create table if not exists time_slot (
+    end_time timestamp(6),
+    id bigint not null,
+    restaurant_table_id bigint,
+    start_time timestamp(6),
+    primary key (id)
+);
+
+create table if not exists roles (
+    id bigint generated by default as identity,
+    name varchar(20) not null unique check (name in ('ROLE_USER', 'ROLE_ADMIN')),
+    primary key (id)
+);
+
+create table if not exists users (
+    id bigint not null,
+    password varchar(255),
+    username varchar(255),
+    primary key (id)
+);
+
+create table if not exists user_roles (
+    role_id bigint not null,
+    user_id bigint not null,
+    primary key (role_id, user_id)
+);
+
+create table if not exists booking (
+    number_of_people integer not null,
+    id bigint not null,
+    timeslot_id bigint,
+    user_id bigint,
+    customer_email varchar(255),
+    customer_name varchar(255),
+    customer_phone varchar(255),
+    primary key (id)
+);
+
+create table if not exists time_slot_schedule (
+    closing_time time(6),
+    generated_through date,
+    horizon_days integer not null,
+    opening_time time(6),
+    slot_minutes integer not null,
+    id bigint not null,
+    restaurant_id bigint,
+    restaurant_table_id bigint,
+    primary key (id)
+);
+
+create table if not exists time_slot_schedule_days (
+    schedule_id bigint not null,
+    day_of_week varchar(255)
+        check (day_of_week in ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY'))
+);
+
+-- Foreign keys keep the names Hibernate generated, so existing ones are recognised and skipped.
+do $$
+begin
+    alter table booking add constraint FKrvjeodovbdga30si6lqvkcsv8 foreign key (timeslot_id) references time_slot;
+exception when duplicate_object then null;
+end $$;
+
+do $$
+begin
+    alter table booking add constraint FK7udbel7q86k041591kj6lfmvw foreign key (user_id) references users;
+exception when duplicate_object then null;
+end $$;
+
+do $$
+begin
+    alter table restaurant_table add constraint FK3pdovxhxtwrb5kboju0qs21tn foreign key (restaurant_id) references restaurant;
+exception when duplicate_object then null;
+end $$;
+
+do $$
+begin
+    alter table time_slot add constraint FK4km17fdarnr78dxxst5jlw139 foreign key (restaurant_table_id) references restaurant_table;
+exception when duplicate_object then null;
+end $$;
+
+do $$
+begin
+    alter table time_slot_schedule add constraint FKojemcfe8y9fugwfbg0l23qkjp foreign key (restaurant_id) references restaurant;
+exception when duplicate_object then null;
+end $$;
+
+do $$
+begin
+    alter table time_slot_schedule add constraint FK7hryx6ppnt4evnb7ety23w873 foreign key (restaurant_table_id) references restaurant_table;
+exception when duplicate_object then null;
+end $$;
+
+do $$
+begin
+    alter table time_slot_schedule_days add constraint FKst7w394j910qshdhugmdh0jvt foreign key (schedule_id) references time_slot_schedule;
+exception when duplicate_object then null;
+end $$;
+
+do $$
+begin
+    alter table user_roles add constraint FKh8ciramu9cc9q3qcqiv4ue8a6 foreign key (role_id) references roles;
+exception when duplicate_object then null;
+end $$;
+
+do $$
+begin
+    alter table user_roles add constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users;
+exception when duplicate_object then null;
+end $$;
@@ -0,0 +1,32 @@
+-- Indexes behind the per-request lookups: bookings by time slot and user, slots by table (and start time, which
+-- also serves schedule generation), slots by end time for the availability index, tables by restaurant.
+create index if not exists idx_booking_user on booking (user_id);
+create index if not exists idx_time_slot_table_start on time_slot (restaurant_table_id, start_time);
+create index if not exists idx_time_slot_end_time on time_slot (end_time);
+create index if not exists idx_restaurant_table_restaurant on restaurant_table (restaurant_id);
+create index if not exists idx_time_slot_schedule_restaurant on time_slot_schedule (restaurant_id);
+create index if not exists idx_time_slot_schedule_table on time_slot_schedule (restaurant_table_id);
+
+-- findByUsername/existsByUsername; fails if duplicate usernames already exist, which must be resolved first.
+do $$
+begin
+    alter table users add constraint uk_users_username unique (username);
+exception when duplicate_table or duplicate_object then null;
+end $$;
+
+-- One booking per time slot; its index also serves findByTimeSlotId.
+do $$
+begin
+    alter table booking add constraint uk_booking_timeslot unique (timeslot_id);
+exception when duplicate_table or duplicate_object then null;
+end $$;
+
+-- Time slots of the same table may not overlap.
+create extension if not exists btree_gist;
+
+do $$
+begin
+    alter table time_slot add constraint ex_time_slot_table_overlap
+        exclude using gist (restaurant_table_id with =, tsrange(start_time, end_time) with &&);
+exception when duplicate_table or duplicate_object then null;
+end $$;
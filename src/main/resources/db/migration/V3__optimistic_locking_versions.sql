@@ -0,0 +1,4 @@
+-- @Version columns for optimistic locking; existing rows start at version 0.
+alter table booking add column if not exists version bigint not null default 0;
+alter table time_slot add column if not exists version bigint not null default 0;
+alter table restaurant_table add column if not exists version bigint not null default 0;
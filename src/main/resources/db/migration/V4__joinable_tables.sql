@@ -0,0 +1,12 @@
+-- Tables that can be pushed together for a larger party; every link is stored in both directions.
+create table if not exists restaurant_table_joinable (
+    table_id bigint not null,
+    joinable_table_id bigint not null,
+    primary key (table_id, joinable_table_id),
+    constraint fk_restaurant_table_joinable_table foreign key (table_id)
+        references restaurant_table (id) on delete cascade,
+    constraint fk_restaurant_table_joinable_joinable foreign key (joinable_table_id)
+        references restaurant_table (id) on delete cascade
+);
+
+create index if not exists idx_restaurant_table_joinable_joinable on restaurant_table_joinable (joinable_table_id);
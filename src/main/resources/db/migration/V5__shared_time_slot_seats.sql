@@ -0,0 +1,17 @@
+-- Seat-level capacity for shared slots. remaining_seats counts what is still free: seats of a shared slot, or 1 for
+-- a whole-table slot until it is booked. Bookings no longer own their slot exclusively, so the unique constraint
+-- becomes a plain index.
+alter table time_slot add column if not exists capacity integer;
+alter table time_slot add column if not exists remaining_seats integer not null default 1;
+
+update time_slot set remaining_seats = 0 where id in (select timeslot_id from booking);
+
+alter table booking drop constraint if exists uk_booking_timeslot;
+create index if not exists idx_booking_timeslot on booking (timeslot_id);
+
+do $$
+begin
+    if not exists (select 1 from pg_constraint where conname = 'ck_time_slot_remaining_seats') then
+        alter table time_slot add constraint ck_time_slot_remaining_seats check (remaining_seats >= 0);
+    end if;
+end $$;
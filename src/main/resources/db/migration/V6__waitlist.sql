@@ -0,0 +1,16 @@
+-- Parties waiting for a full time slot, served in request order; the index walks a slot's queue in that order.
+create sequence if not exists waitlist_entry_seq start with 1 increment by 50;
+
+create table if not exists waitlist_entry (
+    number_of_people integer not null,
+    id bigint not null,
+    requested_at timestamp(6),
+    timeslot_id bigint not null,
+    customer_email varchar(255),
+    customer_name varchar(255),
+    customer_phone varchar(255),
+    primary key (id),
+    constraint fk_waitlist_entry_timeslot foreign key (timeslot_id) references time_slot (id) on delete cascade
+);
+
+create index if not exists idx_waitlist_entry_timeslot_requested on waitlist_entry (timeslot_id, requested_at);
@@ -0,0 +1,10 @@
+-- Change counters behind the ETag and Last-Modified headers, shared by all instances.
+create table if not exists resource_version (
+    counter bigint not null,
+    last_modified bigint not null,
+    name varchar(255) not null,
+    primary key (name)
+);
+
+-- New counters are created under this row's lock.
+insert into resource_version (counter, last_modified, name) values (0, 0, 'restaurants') on conflict do nothing;
@@ -6,6 +6,9 @@ import com.example.restaurantbookingservice.payload.request.LoginRequest;
 import com.example.restaurantbookingservice.payload.request.SignupRequest;
 import com.example.restaurantbookingservice.repository.RoleRepository;
 import com.example.restaurantbookingservice.repository.UserRepository;
+import com.example.restaurantbookingservice.security.PasswordHashingOverloadedException;
+import com.example.restaurantbookingservice.security.services.TokenRevocationService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,12 +20,19 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -43,9 +53,12 @@ public class AuthControllerIntegrationTest {
     @Autowired
     private RoleRepository roleRepository;
 
-    @Autowired
+    @MockitoSpyBean
     private PasswordEncoder encoder;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
@@ -131,4 +144,64 @@ public class AuthControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void authenticateUser_whenPasswordHashingIsOverloaded_answers503WithRetryAfter() throws Exception {
+        SignupRequest signupRequest = new SignupRequest();
+        signupRequest.setUsername("testuser");
+        signupRequest.setPassword("password");
+        signupRequest.setRole(Collections.singleton("user"));
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk());
+
+        doThrow(new PasswordHashingOverloadedException("Password hashing timed out"))
+                .when(encoder).matches(any(), any());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("testuser");
+        loginRequest.setPassword("password");
+
+        mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("Error: Authentication is temporarily overloaded, please retry"));
+    }
+
+    @Test
+    void revokedToken_isRejected() throws Exception {
+        SignupRequest signupRequest = new SignupRequest();
+        signupRequest.setUsername("revokeduser");
+        signupRequest.setPassword("password");
+        signupRequest.setRole(Collections.singleton("user"));
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("revokeduser");
+        loginRequest.setPassword("password");
+
+        String response = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode body = objectMapper.readTree(response);
+        String token = body.get("token").asText();
+
+        mockMvc.perform(get("/restaurants").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        tokenRevocationService.revokeTokensIssuedBefore("revokeduser", Instant.now().plusSeconds(1));
+
+        mockMvc.perform(get("/restaurants").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
 }
@@ -0,0 +1,125 @@
+package com.example.restaurantbookingservice.controller;
+
+import com.example.restaurantbookingservice.config.SecurityConfig;
+import com.example.restaurantbookingservice.dto.AvailableTimeSlotDto;
+import com.example.restaurantbookingservice.security.JwtAuthenticationEntryPoint;
+import com.example.restaurantbookingservice.security.JwtRequestFilter;
+import com.example.restaurantbookingservice.security.JwtTokenProvider;
+import com.example.restaurantbookingservice.service.AvailabilityService;
+import com.example.restaurantbookingservice.service.TableAllocationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AvailabilityController.class)
+@Import(SecurityConfig.class)
+@ActiveProfiles("test-security")
+class AvailabilityControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AvailabilityService availabilityService;
+
+    @MockBean
+    private TableAllocationService tableAllocationService;
+
+    @MockBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @MockBean
+    private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        public UserDetailsService userDetailsService() {
+            return new InMemoryUserDetailsManager(
+                    User.withUsername("user").password("password").roles("USER").build(),
+                    User.withUsername("admin").password("password").roles("ADMIN").build()
+            );
+        }
+
+        @Bean
+        public JwtRequestFilter jwtRequestFilter() {
+            return new JwtRequestFilter() {
+                @Override
+                protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+                    chain.doFilter(request, response);
+                }
+            };
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void searchAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2025, 11, 15, 18, 0);
+        LocalDateTime to = from.plusHours(3);
+        AvailableTimeSlotDto slot = new AvailableTimeSlotDto(7L, 1L, 3L, 12, 4, from, from.plusHours(1));
+
+        when(availabilityService.search(eq(1L), eq(4), eq(from), eq(to), anyInt(), anyInt())).thenReturn(List.of(slot));
+
+        mockMvc.perform(get("/availability")
+                        .param("partySize", "4")
+                        .param("from", "2025-11-15T18:00:00")
+                        .param("to", "2025-11-15T21:00:00")
+                        .param("restaurantId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].timeSlotId").value(7))
+                .andExpect(jsonPath("$[0].tableNumber").value(12));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void searchAvailability_invalidRange_isBadRequest() throws Exception {
+        mockMvc.perform(get("/availability")
+                        .param("partySize", "4")
+                        .param("from", "2025-11-15T21:00:00")
+                        .param("to", "2025-11-15T18:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void searchAvailability_pageBeyondTheSearchDepth_isBadRequest() throws Exception {
+        mockMvc.perform(get("/availability")
+                        .param("partySize", "4")
+                        .param("from", "2025-11-15T18:00:00")
+                        .param("to", "2025-11-15T21:00:00")
+                        .param("page", "1000000")
+                        .param("size", "200"))
+                .andExpect(status().isBadRequest());
+        verify(availabilityService, never()).search(any(), anyInt(), any(), any(), anyInt(), anyInt());
+    }
+}
@@ -1,13 +1,16 @@
 package com.example.restaurantbookingservice.controller;
 
+import com.example.restaurantbookingservice.dto.BookingBatchRequestDto;
 import com.example.restaurantbookingservice.dto.BookingDto;
 import com.example.restaurantbookingservice.dto.RestaurantDto;
+import com.example.restaurantbookingservice.dto.WaitlistEntryDto;
 import com.example.restaurantbookingservice.model.RestaurantTable;
 import com.example.restaurantbookingservice.model.TimeSlot;
 import com.example.restaurantbookingservice.service.BookingService;
 import com.example.restaurantbookingservice.service.RestaurantService;
 import com.example.restaurantbookingservice.service.RestaurantTableService;
 import com.example.restaurantbookingservice.service.TimeSlotService;
+import com.example.restaurantbookingservice.service.WaitlistService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,7 +23,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -48,9 +56,35 @@ public class BookingControllerIntegrationTest {
     @Autowired
     private TimeSlotService timeSlotService;
 
+    @Autowired
+    private WaitlistService waitlistService;
+
     @Autowired
     private com.example.restaurantbookingservice.repository.RestaurantRepository restaurantRepository;
 
+    @Test
+    @WithMockUser(roles = "USER")
+    public void testAddBooking_withClientSuppliedId_createsANewRow() throws Exception {
+        RestaurantDto restaurantDto = new RestaurantDto();
+        restaurantDto.setName("Test Restaurant");
+        RestaurantDto savedRestaurant = restaurantService.addRestaurant(restaurantDto);
+        RestaurantTable table = new RestaurantTable(1, 4, null);
+        table.setRestaurant(restaurantRepository.findById(savedRestaurant.getId()).get());
+        restaurantTableService.addTable(table);
+        TimeSlot timeSlot = new TimeSlot(LocalDateTime.now(), LocalDateTime.now().plusHours(2), table);
+        timeSlotService.addTimeSlot(timeSlot);
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setId(999999L);
+        bookingDto.setTimeSlotId(timeSlot.getId());
+        bookingDto.setCustomerName("Customer 1");
+
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(not(999999)));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     public void testGetAllBookings() throws Exception {
@@ -155,4 +189,118 @@ public class BookingControllerIntegrationTest {
         mockMvc.perform(delete("/bookings/" + savedBooking.getId()))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    public void testAddBookings_allOrNothingAndBestEffort() throws Exception {
+        RestaurantDto restaurantDto = new RestaurantDto();
+        restaurantDto.setName("Test Restaurant");
+        RestaurantDto savedRestaurant = restaurantService.addRestaurant(restaurantDto);
+        RestaurantTable table = new RestaurantTable(1, 4, null);
+        table.setRestaurant(restaurantRepository.findById(savedRestaurant.getId()).get());
+        restaurantTableService.addTable(table);
+        List<BookingDto> bookings = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TimeSlot timeSlot = new TimeSlot(LocalDateTime.now().plusHours(2L * i),
+                    LocalDateTime.now().plusHours(2L * i + 2), table);
+            timeSlotService.addTimeSlot(timeSlot);
+            BookingDto bookingDto = new BookingDto();
+            bookingDto.setTimeSlotId(timeSlot.getId());
+            bookingDto.setCustomerName("Guest " + i);
+            bookings.add(bookingDto);
+        }
+        bookingService.addBooking(bookings.get(1));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingBatchRequestDto(BookingBatchRequestDto.Mode.ALL_OR_NOTHING, bookings))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.booked.length()").value(0))
+                .andExpect(jsonPath("$.rejected.length()").value(3));
+        assertTrue(bookingService.getBookingsByTimeSlotId(bookings.get(0).getTimeSlotId()).isEmpty());
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingBatchRequestDto(BookingBatchRequestDto.Mode.BEST_EFFORT, bookings))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.booked.length()").value(2))
+                .andExpect(jsonPath("$.rejected[0].customerName").value("Guest 1"));
+        assertEquals(1, bookingService.getBookingsByTimeSlotId(bookings.get(2).getTimeSlotId()).size());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    public void testAddBooking_onSharedSlot_admitsPartiesUntilSeatsRunOut() throws Exception {
+        RestaurantDto restaurantDto = new RestaurantDto();
+        restaurantDto.setName("Test Restaurant");
+        RestaurantDto savedRestaurant = restaurantService.addRestaurant(restaurantDto);
+        RestaurantTable bar = new RestaurantTable(1, 10, null);
+        bar.setRestaurant(restaurantRepository.findById(savedRestaurant.getId()).get());
+        restaurantTableService.addTable(bar);
+        TimeSlot timeSlot = new TimeSlot(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(1).plusHours(2), bar);
+        timeSlot.setCapacity(10);
+        timeSlotService.addTimeSlot(timeSlot);
+
+        for (int party : new int[]{4, 4}) {
+            mockMvc.perform(post("/bookings")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new BookingDto(null, timeSlot.getId(), party, "Guest", null, null, null))))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingDto(null, timeSlot.getId(), 3, "Guest", null, null, null))))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(2, timeSlotService.getTimeSlotById(timeSlot.getId()).getRemainingSeats());
+        assertEquals(2, bookingService.getBookingsByTimeSlotId(timeSlot.getId()).size());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void testUpdateBooking_onSharedSlot_claimsAndReleasesTheSeatDifference() throws Exception {
+        RestaurantDto restaurantDto = new RestaurantDto();
+        restaurantDto.setName("Test Restaurant");
+        RestaurantDto savedRestaurant = restaurantService.addRestaurant(restaurantDto);
+        RestaurantTable bar = new RestaurantTable(1, 10, null);
+        bar.setRestaurant(restaurantRepository.findById(savedRestaurant.getId()).get());
+        restaurantTableService.addTable(bar);
+        TimeSlot timeSlot = new TimeSlot(LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(1).plusHours(2), bar);
+        timeSlot.setCapacity(10);
+        timeSlotService.addTimeSlot(timeSlot);
+        BookingDto booking = bookingService.addBooking(
+                new BookingDto(null, timeSlot.getId(), 2, "Guest", null, null, null));
+        bookingService.addBooking(new BookingDto(null, timeSlot.getId(), 4, "Other", null, null, null));
+
+        booking.setNumberOfPeople(6);
+        booking.setVersion(null);
+        mockMvc.perform(put("/bookings/" + booking.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isOk());
+        assertEquals(0, timeSlotService.getTimeSlotById(timeSlot.getId()).getRemainingSeats());
+
+        booking.setNumberOfPeople(7);
+        mockMvc.perform(put("/bookings/" + booking.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isBadRequest());
+        assertEquals(6, bookingService.getBookingById(booking.getId()).getNumberOfPeople());
+
+        // Shrinking frees three seats, which go to the waiting party of three.
+        waitlistService.joinWaitlist(new WaitlistEntryDto(null, timeSlot.getId(), 3, "Waiting", null, null, null));
+        booking.setNumberOfPeople(3);
+        mockMvc.perform(put("/bookings/" + booking.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isOk());
+        assertEquals(0, timeSlotService.getTimeSlotById(timeSlot.getId()).getRemainingSeats());
+        assertEquals(3, bookingService.getBookingsByTimeSlotId(timeSlot.getId()).size());
+        assertTrue(waitlistService.getWaitlist(timeSlot.getId()).isEmpty());
+    }
 }
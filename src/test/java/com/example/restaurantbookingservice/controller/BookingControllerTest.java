@@ -6,6 +6,7 @@ import com.example.restaurantbookingservice.security.JwtAuthenticationEntryPoint
 import com.example.restaurantbookingservice.security.JwtRequestFilter;
 import com.example.restaurantbookingservice.security.JwtTokenProvider;
 import com.example.restaurantbookingservice.service.BookingService;
+import com.example.restaurantbookingservice.service.IdempotencyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +21,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.context.ActiveProfiles;
 
 import jakarta.servlet.FilterChain;
@@ -29,15 +31,30 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(BookingController.class)
-@Import(SecurityConfig.class)
+@WebMvcTest(controllers = BookingController.class,
+        properties = "restaurantbookingservice.app.idempotency.waitTimeout=200ms")
+@Import({SecurityConfig.class, IdempotencyService.class})
 @ActiveProfiles("test-security")
 class BookingControllerTest {
 
@@ -95,6 +112,123 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[1].customerName").value("Customer 2"));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllBookings_withKeyset() throws Exception {
+        BookingDto booking = new BookingDto();
+        booking.setId(11L);
+        booking.setCustomerName("Customer 11");
+
+        when(bookingService.getBookingsAfter(10L, 1)).thenReturn(List.of(booking));
+
+        mockMvc.perform(get("/bookings").param("after", "10").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].id").value(11));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @SuppressWarnings("unchecked")
+    void getAllBookings_streamed() throws Exception {
+        BookingDto booking1 = new BookingDto();
+        booking1.setCustomerName("Customer 1");
+        BookingDto booking2 = new BookingDto();
+        booking2.setCustomerName("Customer 2");
+        doAnswer(invocation -> {
+            Consumer<BookingDto> action = invocation.getArgument(0);
+            action.accept(booking1);
+            action.accept(booking2);
+            return null;
+        }).when(bookingService).forEachBooking(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/bookings").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(2))
+                .andExpect(jsonPath("$[1].customerName").value("Customer 2"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @SuppressWarnings("unchecked")
+    void exportBookings_asNdjson() throws Exception {
+        BookingDto booking1 = new BookingDto();
+        booking1.setId(1L);
+        BookingDto booking2 = new BookingDto();
+        booking2.setId(2L);
+        doAnswer(invocation -> {
+            Consumer<BookingDto> action = invocation.getArgument(0);
+            action.accept(booking1);
+            action.accept(booking2);
+            return null;
+        }).when(bookingService).forEachBooking(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/bookings").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(matchesPattern("\\{\"id\":1,.*}\n\\{\"id\":2,.*}\n")));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @SuppressWarnings("unchecked")
+    void exportBookings_asCsv() throws Exception {
+        BookingDto booking = new BookingDto();
+        booking.setId(1L);
+        booking.setTimeSlotId(3L);
+        booking.setNumberOfPeople(2);
+        booking.setCustomerName("Doe, \"Jane\"");
+        doAnswer(invocation -> {
+            Consumer<BookingDto> action = invocation.getArgument(0);
+            action.accept(booking);
+            return null;
+        }).when(bookingService).forEachBooking(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/bookings").accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("id,timeSlotId,numberOfPeople,customerName,customerPhone,customerEmail\r\n"
+                        + "1,3,2,\"Doe, \"\"Jane\"\"\",,\r\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @SuppressWarnings("unchecked")
+    void exportBookings_asCsv_neutralizesFormulas() throws Exception {
+        BookingDto booking = new BookingDto();
+        booking.setId(1L);
+        booking.setTimeSlotId(3L);
+        booking.setNumberOfPeople(2);
+        booking.setCustomerName("=HYPERLINK(\"http://evil\")");
+        booking.setCustomerPhone("+1 555 0100");
+        booking.setCustomerEmail("@SUM(A1)");
+        doAnswer(invocation -> {
+            Consumer<BookingDto> action = invocation.getArgument(0);
+            action.accept(booking);
+            return null;
+        }).when(bookingService).forEachBooking(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/bookings").accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("id,timeSlotId,numberOfPeople,customerName,customerPhone,customerEmail\r\n"
+                        + "1,3,2,\"'=HYPERLINK(\"\"http://evil\"\")\",'+1 555 0100,'@SUM(A1)\r\n"));
+    }
+
     @Test
     @WithMockUser
     void getBookingById() throws Exception {
@@ -149,6 +283,100 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void addBooking_withRepeatedIdempotencyKey_replaysTheFirstResponse() throws Exception {
+        BookingDto booking = new BookingDto();
+        booking.setCustomerName("Customer 1");
+        BookingDto saved = new BookingDto();
+        saved.setId(7L);
+        saved.setCustomerName("Customer 1");
+        when(bookingService.addBooking(any(BookingDto.class))).thenReturn(saved);
+
+        for (String replayed : new String[]{"false", "true"}) {
+            mockMvc.perform(post("/bookings")
+                            .header(BookingController.IDEMPOTENCY_KEY, "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(booking)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(BookingController.IDEMPOTENT_REPLAYED, replayed))
+                    .andExpect(jsonPath("$.id").value(7));
+        }
+        verify(bookingService, times(1)).addBooking(any(BookingDto.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void addBooking_withIdempotencyKeyReusedForAnotherBody_isUnprocessable() throws Exception {
+        BookingDto booking = new BookingDto();
+        booking.setCustomerName("Customer 1");
+        when(bookingService.addBooking(any(BookingDto.class))).thenReturn(booking);
+        mockMvc.perform(post("/bookings")
+                        .header(BookingController.IDEMPOTENCY_KEY, "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isOk());
+
+        booking.setCustomerName("Customer 2");
+        mockMvc.perform(post("/bookings")
+                        .header(BookingController.IDEMPOTENCY_KEY, "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isUnprocessableEntity());
+        verify(bookingService, times(1)).addBooking(any(BookingDto.class));
+    }
+
+    @Test
+    void addBooking_withIdempotencyKeyOfARequestStillRunning_isConflictAfterTheWaitTimeout() throws Exception {
+        BookingDto booking = new BookingDto();
+        booking.setCustomerName("Customer 1");
+        BookingDto saved = new BookingDto();
+        saved.setId(7L);
+        saved.setCustomerName("Customer 1");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookingService.addBooking(any(BookingDto.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return saved;
+        });
+        String body = objectMapper.writeValueAsString(booking);
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mockMvc.perform(post("/bookings")
+                                .with(user("user").roles("USER"))
+                                .header(BookingController.IDEMPOTENCY_KEY, "retry-3")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                        .andReturn().getResponse().getStatus();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        mockMvc.perform(post("/bookings")
+                        .with(user("user").roles("USER"))
+                        .header(BookingController.IDEMPOTENCY_KEY, "retry-3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict())
+                .andExpect(header().string("Retry-After", "1"));
+
+        release.countDown();
+        assertEquals(200, first.get(5, TimeUnit.SECONDS));
+        mockMvc.perform(post("/bookings")
+                        .with(user("user").roles("USER"))
+                        .header(BookingController.IDEMPOTENCY_KEY, "retry-3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.IDEMPOTENT_REPLAYED, "true"))
+                .andExpect(jsonPath("$.id").value(7));
+        verify(bookingService, times(1)).addBooking(any(BookingDto.class));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void deleteBooking() throws Exception {
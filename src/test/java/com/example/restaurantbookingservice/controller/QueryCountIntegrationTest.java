@@ -0,0 +1,187 @@
+package com.example.restaurantbookingservice.controller;
+
+import com.example.restaurantbookingservice.config.CacheConfig;
+import com.example.restaurantbookingservice.dto.BookingDto;
+import com.example.restaurantbookingservice.model.Booking;
+import com.example.restaurantbookingservice.model.ERole;
+import com.example.restaurantbookingservice.model.Restaurant;
+import com.example.restaurantbookingservice.model.RestaurantTable;
+import com.example.restaurantbookingservice.model.Role;
+import com.example.restaurantbookingservice.model.TimeSlot;
+import com.example.restaurantbookingservice.model.User;
+import com.example.restaurantbookingservice.repository.BookingRepository;
+import com.example.restaurantbookingservice.repository.RestaurantRepository;
+import com.example.restaurantbookingservice.repository.RestaurantTableRepository;
+import com.example.restaurantbookingservice.repository.RoleRepository;
+import com.example.restaurantbookingservice.repository.TimeSlotRepository;
+import com.example.restaurantbookingservice.repository.UserRepository;
+import com.example.restaurantbookingservice.service.BookingService;
+import com.example.restaurantbookingservice.service.ResourceVersionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements per read so that a reintroduced eager association or an N+1 loop fails here
+ * rather than in production. Every request runs against several rows on purpose.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+public class QueryCountIntegrationTest {
+
+    private static final int ROWS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+    private Restaurant restaurant;
+    private TimeSlot firstTimeSlot;
+    private User user;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.RESTAURANTS_CACHE).clear();
+        cacheManager.getCache(CacheConfig.RESTAURANT_CACHE).clear();
+        Role role = roleRepository.findByName(ERole.ROLE_USER)
+                .orElseGet(() -> roleRepository.save(new Role(ERole.ROLE_USER)));
+        user = new User("query-count-user", "password");
+        user.setRoles(Set.of(role));
+        userRepository.save(user);
+
+        restaurant = restaurantRepository.save(new Restaurant("Counted", "Main Street", "1234567890", "c@test.com"));
+        for (int i = 0; i < ROWS; i++) {
+            RestaurantTable table = restaurantTableRepository.save(new RestaurantTable(i + 1, 4, restaurant));
+            TimeSlot timeSlot = timeSlotRepository.save(new TimeSlot(LocalDateTime.now().plusDays(1),
+                    LocalDateTime.now().plusDays(1).plusHours(2), table));
+            if (firstTimeSlot == null) {
+                firstTimeSlot = timeSlot;
+            }
+            bookings.add(bookingRepository.save(
+                    new Booking(timeSlot, user, 2, "Customer " + i, "1234567890", "c@test.com")));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void bookingReads_issueOneStatementEach() throws Exception {
+        assertStatements(1, () -> mockMvc.perform(get("/bookings")).andExpect(status().isOk()));
+        assertStatements(1, () -> mockMvc.perform(get("/bookings/" + bookings.get(0).getId())).andExpect(status().isOk()));
+        assertStatements(1, () -> mockMvc.perform(get("/bookings/timeslot/" + firstTimeSlot.getId()))
+                .andExpect(status().isOk()));
+        assertStatements(1, () -> bookingService.forEachBooking(booking -> { }));
+    }
+
+    @Test
+    void catalogueReads_issueOneStatementEach() throws Exception {
+        // ETag versions are read once per expiry of the local copy, not per request.
+        resourceVersionService.restaurants();
+        resourceVersionService.tablesOfRestaurant(restaurant.getId());
+        assertStatements(1, () -> mockMvc.perform(get("/restaurants")).andExpect(status().isOk()));
+        assertStatements(1, () -> mockMvc.perform(get("/tables")).andExpect(status().isOk()));
+        assertStatements(1, () -> mockMvc.perform(get("/tables/restaurant/" + restaurant.getId()))
+                .andExpect(status().isOk()));
+        assertStatements(1, () -> mockMvc.perform(get("/timeslots")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void entityGraphs_loadTheirAssociationsInOneStatement() throws Exception {
+        assertStatements(1, () -> {
+            User loaded = userRepository.findByUsername(user.getUsername()).orElseThrow();
+            assertEquals(1, loaded.getRoles().size());
+        });
+    }
+
+    @Test
+    void bookingUpdate_loadsTheBookingWithItsTimeSlot() throws Exception {
+        Booking booking = bookings.get(0);
+        BookingDto update = new BookingDto(booking.getId(), firstTimeSlot.getId(), 2, "Renamed", "1234567890",
+                "c@test.com", booking.getVersion());
+
+        // One select for the booking and its slot, one update.
+        assertStatements(2, () -> mockMvc.perform(put("/bookings/" + booking.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk()));
+    }
+
+    private void assertStatements(long expected, Action action) throws Exception {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run() throws Exception;
+    }
+}
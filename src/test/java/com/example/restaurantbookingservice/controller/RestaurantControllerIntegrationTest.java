@@ -44,6 +44,30 @@ public class RestaurantControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].name").value("Test Restaurant"));
     }
 
+    @Test
+    @WithMockUser
+    public void testGetAllRestaurants_withKeyset() throws Exception {
+        RestaurantDto first = new RestaurantDto();
+        first.setName("Restaurant 1");
+        RestaurantDto second = new RestaurantDto();
+        second.setName("Restaurant 2");
+        RestaurantDto third = new RestaurantDto();
+        third.setName("Restaurant 3");
+        restaurantService.addRestaurant(first);
+        RestaurantDto savedSecond = restaurantService.addRestaurant(second);
+        restaurantService.addRestaurant(third);
+
+        mockMvc.perform(get("/restaurants").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].name").value("Restaurant 2"));
+
+        mockMvc.perform(get("/restaurants").param("after", savedSecond.getId().toString()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Restaurant 3"));
+    }
+
     @Test
     @WithMockUser
     public void testGetRestaurantById() throws Exception {
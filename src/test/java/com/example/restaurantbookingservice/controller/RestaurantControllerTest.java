@@ -5,8 +5,10 @@ import com.example.restaurantbookingservice.dto.RestaurantDto;
 import com.example.restaurantbookingservice.security.JwtAuthenticationEntryPoint;
 import com.example.restaurantbookingservice.security.JwtRequestFilter;
 import com.example.restaurantbookingservice.security.JwtTokenProvider;
+import com.example.restaurantbookingservice.service.ResourceVersionService;
 import com.example.restaurantbookingservice.service.RestaurantService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -14,6 +16,7 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -31,8 +34,13 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -56,6 +64,14 @@ class RestaurantControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
+    @BeforeEach
+    void setUp() {
+        when(resourceVersionService.restaurants()).thenReturn(new ResourceVersionService.Version(1, 1_000_000L));
+    }
+
     @TestConfiguration
     static class TestConfig {
         @Bean
@@ -95,6 +111,30 @@ class RestaurantControllerTest {
                 .andExpect(jsonPath("$[1].name").value("Restaurant 2"));
     }
 
+    @Test
+    @WithMockUser
+    void getAllRestaurants_withCurrentETag_isNotModifiedUntilTheCatalogChanges() throws Exception {
+        when(restaurantService.getAllRestaurants()).thenReturn(List.of(new RestaurantDto()));
+
+        String eTag = mockMvc.perform(get("/restaurants"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/restaurants").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(restaurantService, times(1)).getAllRestaurants();
+
+        when(resourceVersionService.restaurants()).thenReturn(new ResourceVersionService.Version(2, 2_000_000L));
+
+        mockMvc.perform(get("/restaurants").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+        verify(restaurantService, times(2)).getAllRestaurants();
+    }
+
     @Test
     @WithMockUser
     void getRestaurantById() throws Exception {
@@ -1,5 +1,6 @@
 package com.example.restaurantbookingservice.controller;
 
+import com.example.restaurantbookingservice.dto.RestaurantTableDto;
 import com.example.restaurantbookingservice.model.ERole;
 import com.example.restaurantbookingservice.model.Restaurant;
 import com.example.restaurantbookingservice.model.RestaurantTable;
@@ -23,7 +24,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
+import java.util.List;
 
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -95,7 +98,7 @@ public class RestaurantTableControllerIntegrationTest {
         Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
         restaurantService.addRestaurant(restaurant);
         RestaurantTable table = new RestaurantTable(1, 4, restaurant);
-        RestaurantTable savedTable = restaurantTableService.addTable(table);
+        RestaurantTableDto savedTable = restaurantTableService.addTable(table);
 
         mockMvc.perform(get("/tables/" + savedTable.getId()).with(user(testUser.getUsername()).roles("USER")))
                 .andExpect(status().isOk())
@@ -119,14 +122,29 @@ public class RestaurantTableControllerIntegrationTest {
     public void testAddTable() throws Exception {
         Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
         restaurantService.addRestaurant(restaurant);
-        RestaurantTable table = new RestaurantTable(1, 4, restaurant);
+        RestaurantTableDto table = new RestaurantTableDto(null, 1, 4, restaurant.getId(), null);
 
         mockMvc.perform(post("/tables")
                         .with(user(adminUser.getUsername()).roles("ADMIN"))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(table)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.tableNumber").value(1));
+                .andExpect(jsonPath("$.tableNumber").value(1))
+                .andExpect(jsonPath("$.restaurantId").value(restaurant.getId()));
+    }
+
+    @Test
+    public void testAddTable_withClientSuppliedId_createsANewRow() throws Exception {
+        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
+        restaurantService.addRestaurant(restaurant);
+        RestaurantTableDto table = new RestaurantTableDto(999999L, 1, 4, restaurant.getId(), null);
+
+        mockMvc.perform(post("/tables")
+                        .with(user(adminUser.getUsername()).roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(table)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(not(999999)));
     }
 
     @Test
@@ -134,9 +152,39 @@ public class RestaurantTableControllerIntegrationTest {
         Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
         restaurantService.addRestaurant(restaurant);
         RestaurantTable table = new RestaurantTable(1, 4, restaurant);
-        RestaurantTable savedTable = restaurantTableService.addTable(table);
+        RestaurantTableDto savedTable = restaurantTableService.addTable(table);
 
         mockMvc.perform(delete("/tables/" + savedTable.getId()).with(user(adminUser.getUsername()).roles("ADMIN")))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    public void testSetJoinableTables_linksBothWaysAndSurvivesDelete() throws Exception {
+        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
+        restaurantService.addRestaurant(restaurant);
+        RestaurantTableDto first = restaurantTableService.addTable(new RestaurantTable(1, 4, restaurant));
+        RestaurantTableDto second = restaurantTableService.addTable(new RestaurantTable(2, 4, restaurant));
+
+        mockMvc.perform(put("/tables/" + first.getId() + "/joinable")
+                        .with(user(adminUser.getUsername()).roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(second.getId()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value(second.getId()));
+        mockMvc.perform(get("/tables/" + second.getId() + "/joinable").with(user(testUser.getUsername()).roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value(first.getId()));
+
+        mockMvc.perform(put("/tables/" + first.getId() + "/joinable")
+                        .with(user(adminUser.getUsername()).roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(first.getId()))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(delete("/tables/" + first.getId()).with(user(adminUser.getUsername()).roles("ADMIN")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tables/" + second.getId() + "/joinable").with(user(testUser.getUsername()).roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
 }
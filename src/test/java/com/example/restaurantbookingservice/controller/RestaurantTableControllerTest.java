@@ -1,12 +1,13 @@
 package com.example.restaurantbookingservice.controller;
 
 import com.example.restaurantbookingservice.config.SecurityConfig;
-import com.example.restaurantbookingservice.model.Restaurant;
-import com.example.restaurantbookingservice.model.RestaurantTable;
+import com.example.restaurantbookingservice.dto.RestaurantTableDto;
 import com.example.restaurantbookingservice.security.JwtAuthenticationEntryPoint;
 import com.example.restaurantbookingservice.security.JwtRequestFilter;
 import com.example.restaurantbookingservice.security.JwtTokenProvider;
+import com.example.restaurantbookingservice.service.ResourceVersionService;
 import com.example.restaurantbookingservice.service.RestaurantTableService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -46,12 +47,20 @@ public class RestaurantTableControllerTest {
     @MockBean
     private RestaurantTableService restaurantTableService;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
 
     @MockBean
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
+    @BeforeEach
+    void setUp() {
+        when(resourceVersionService.tablesOfRestaurant(any())).thenReturn(new ResourceVersionService.Version(1, 1_000_000L));
+    }
+
     @TestConfiguration
     static class TestConfig {
         @Bean
@@ -76,10 +85,9 @@ public class RestaurantTableControllerTest {
     @Test
     @WithMockUser
     public void testGetAllTables() throws Exception {
-        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
-        RestaurantTable table1 = new RestaurantTable(1, 4, restaurant);
-        RestaurantTable table2 = new RestaurantTable(2, 2, restaurant);
-        List<RestaurantTable> tables = Arrays.asList(table1, table2);
+        RestaurantTableDto table1 = new RestaurantTableDto(1L, 1, 4, 1L, 0L);
+        RestaurantTableDto table2 = new RestaurantTableDto(2L, 2, 2, 1L, 0L);
+        List<RestaurantTableDto> tables = Arrays.asList(table1, table2);
 
         when(restaurantTableService.getAllTables()).thenReturn(tables);
 
@@ -93,25 +101,23 @@ public class RestaurantTableControllerTest {
     @Test
     @WithMockUser
     public void testGetTableById() throws Exception {
-        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
-        RestaurantTable table = new RestaurantTable(1, 4, restaurant);
-        table.setId(1L);
+        RestaurantTableDto table = new RestaurantTableDto(1L, 1, 4, 2L, 0L);
 
         when(restaurantTableService.getTableById(1L)).thenReturn(table);
 
         mockMvc.perform(get("/tables/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.tableNumber").value(1));
+                .andExpect(jsonPath("$.tableNumber").value(1))
+                .andExpect(jsonPath("$.restaurantId").value(2))
+                .andExpect(jsonPath("$.restaurant").doesNotExist());
     }
 
     @Test
     @WithMockUser
     public void testGetTablesByRestaurantId() throws Exception {
-        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
-        restaurant.setId(1L);
-        RestaurantTable table1 = new RestaurantTable(1, 4, restaurant);
-        RestaurantTable table2 = new RestaurantTable(2, 2, restaurant);
-        List<RestaurantTable> tables = Arrays.asList(table1, table2);
+        RestaurantTableDto table1 = new RestaurantTableDto(1L, 1, 4, 1L, 0L);
+        RestaurantTableDto table2 = new RestaurantTableDto(2L, 2, 2, 1L, 0L);
+        List<RestaurantTableDto> tables = Arrays.asList(table1, table2);
 
         when(restaurantTableService.getTablesByRestaurantId(1L)).thenReturn(tables);
 
@@ -125,15 +131,13 @@ public class RestaurantTableControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     public void testAddTable() throws Exception {
-        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
-        RestaurantTable table = new RestaurantTable(1, 4, restaurant);
-        table.setId(1L);
+        RestaurantTableDto table = new RestaurantTableDto(1L, 1, 4, 1L, 0L);
 
-        when(restaurantTableService.addTable(any(RestaurantTable.class))).thenReturn(table);
+        when(restaurantTableService.addTable(any(RestaurantTableDto.class))).thenReturn(table);
 
         mockMvc.perform(post("/tables")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content("{\"tableNumber\": 1, \"capacity\": 4, \"restaurant\": {\"id\": 1}}"))
+                        .content("{\"tableNumber\": 1, \"capacity\": 4, \"restaurantId\": 1}"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.tableNumber").value(1));
     }
@@ -150,7 +154,7 @@ public class RestaurantTableControllerTest {
     public void testAddTable_asUser_isForbidden() throws Exception {
         mockMvc.perform(post("/tables")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content("{\"tableNumber\": 1, \"capacity\": 4, \"restaurant\": {\"id\": 1}}"))
+                        .content("{\"tableNumber\": 1, \"capacity\": 4, \"restaurantId\": 1}"))
                 .andExpect(status().isForbidden());
     }
 
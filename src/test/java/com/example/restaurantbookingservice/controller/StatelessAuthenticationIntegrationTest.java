@@ -0,0 +1,149 @@
+package com.example.restaurantbookingservice.controller;
+
+import com.example.restaurantbookingservice.config.CacheConfig;
+import com.example.restaurantbookingservice.model.ERole;
+import com.example.restaurantbookingservice.model.Role;
+import com.example.restaurantbookingservice.payload.request.LoginRequest;
+import com.example.restaurantbookingservice.payload.request.SignupRequest;
+import com.example.restaurantbookingservice.repository.RoleRepository;
+import com.example.restaurantbookingservice.repository.UserRepository;
+import com.example.restaurantbookingservice.security.services.TokenRevocationService;
+import com.example.restaurantbookingservice.security.services.UserDetailsServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs with {@code jwtStatelessAuthentication} on, where the principal is rebuilt from the token's claims instead
+ * of being loaded per request.
+ */
+@SpringBootTest(properties = "restaurantbookingservice.app.jwtStatelessAuthentication=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class StatelessAuthenticationIntegrationTest {
+
+    private static final String USERNAME = "statelessuser";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoSpyBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Value("${restaurantbookingservice.app.jwtSecret}")
+    private String jwtSecret;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userRepository.deleteAll();
+        cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE).clear();
+        if (roleRepository.findByName(ERole.ROLE_USER).isEmpty()) {
+            roleRepository.save(new Role(ERole.ROLE_USER));
+        }
+
+        SignupRequest signupRequest = new SignupRequest();
+        signupRequest.setUsername(USERNAME);
+        signupRequest.setPassword("password");
+        signupRequest.setRole(Collections.singleton("user"));
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void tokenWithClaims_authenticatesWithoutUserLookup() throws Exception {
+        String token = signIn();
+        // Sign-in cached the user; a lookup would now go past the cache and show up on the spy.
+        cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE).clear();
+        clearInvocations(userDetailsService);
+
+        mockMvc.perform(get("/restaurants").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        // The roles claim is what authorizes: a user token does not reach admin endpoints.
+        mockMvc.perform(get("/bookings").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void tokenWithoutClaims_fallsBackToUserLookup() throws Exception {
+        // Shaped like tokens issued before the uid and roles claims were added.
+        String token = Jwts.builder()
+                .setSubject(USERNAME)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)), SignatureAlgorithm.HS256)
+                .compact();
+        clearInvocations(userDetailsService);
+
+        mockMvc.perform(get("/restaurants").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        verify(userDetailsService, times(1)).loadUserByUsername(USERNAME);
+    }
+
+    @Test
+    void revokedToken_isRejected() throws Exception {
+        String token = signIn();
+
+        tokenRevocationService.revokeTokensIssuedBefore(USERNAME, Instant.now().plusSeconds(1));
+
+        mockMvc.perform(get("/restaurants").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String signIn() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(USERNAME);
+        loginRequest.setPassword("password");
+        String response = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.restaurantbookingservice.controller;
 
+import com.example.restaurantbookingservice.dto.TimeSlotDto;
 import com.example.restaurantbookingservice.model.ERole;
 import com.example.restaurantbookingservice.model.Restaurant;
 import com.example.restaurantbookingservice.model.RestaurantTable;
@@ -27,6 +28,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.Collections;
 
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -104,7 +106,7 @@ public class TimeSlotControllerIntegrationTest {
         RestaurantTable table = new RestaurantTable(1, 4, restaurant);
         restaurantTableService.addTable(table);
         TimeSlot timeSlot = new TimeSlot(LocalDateTime.now(), LocalDateTime.now().plusHours(2), table);
-        TimeSlot savedTimeSlot = timeSlotService.addTimeSlot(timeSlot);
+        TimeSlotDto savedTimeSlot = timeSlotService.addTimeSlot(timeSlot);
 
         mockMvc.perform(get("/timeslots/" + savedTimeSlot.getId()).with(user(testUser.getUsername()).roles("USER")))
                 .andExpect(status().isOk())
@@ -131,14 +133,57 @@ public class TimeSlotControllerIntegrationTest {
         restaurantService.addRestaurant(restaurant);
         RestaurantTable table = new RestaurantTable(1, 4, restaurant);
         restaurantTableService.addTable(table);
-        TimeSlot timeSlot = new TimeSlot(LocalDateTime.now(), LocalDateTime.now().plusHours(2), table);
+        TimeSlotDto timeSlot = new TimeSlotDto(null, LocalDateTime.now(), LocalDateTime.now().plusHours(2),
+                table.getId(), null, null, null);
 
         mockMvc.perform(post("/timeslots")
                         .with(user(adminUser.getUsername()).roles("ADMIN"))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(timeSlot)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").exists());
+                .andExpect(jsonPath("$.id").exists())
+                .andExpect(jsonPath("$.restaurantTableId").value(table.getId()));
+    }
+
+    @Test
+    public void testAddTimeSlot_withClientSuppliedId_createsANewRow() throws Exception {
+        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
+        restaurantService.addRestaurant(restaurant);
+        RestaurantTable table = new RestaurantTable(1, 4, restaurant);
+        restaurantTableService.addTable(table);
+        TimeSlotDto timeSlot = new TimeSlotDto(999999L, LocalDateTime.now(), LocalDateTime.now().plusHours(2),
+                table.getId(), null, null, null);
+
+        mockMvc.perform(post("/timeslots")
+                        .with(user(adminUser.getUsername()).roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(timeSlot)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(not(999999)));
+    }
+
+    @Test
+    public void testUpdateTimeSlot_withReadVersion_succeedsOnceAndThenConflicts() throws Exception {
+        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
+        restaurantService.addRestaurant(restaurant);
+        RestaurantTable table = new RestaurantTable(1, 4, restaurant);
+        restaurantTableService.addTable(table);
+        TimeSlot timeSlot = new TimeSlot(LocalDateTime.now(), LocalDateTime.now().plusHours(2), table);
+        TimeSlotDto read = timeSlotService.addTimeSlot(timeSlot);
+        read.setEndTime(read.getEndTime().plusHours(1));
+
+        mockMvc.perform(put("/timeslots/" + read.getId())
+                        .with(user(adminUser.getUsername()).roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(read)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(read.getVersion() + 1));
+
+        mockMvc.perform(put("/timeslots/" + read.getId())
+                        .with(user(adminUser.getUsername()).roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(read)))
+                .andExpect(status().isConflict());
     }
 
     @Test
@@ -148,7 +193,7 @@ public class TimeSlotControllerIntegrationTest {
         RestaurantTable table = new RestaurantTable(1, 4, restaurant);
         restaurantTableService.addTable(table);
         TimeSlot timeSlot = new TimeSlot(LocalDateTime.now(), LocalDateTime.now().plusHours(2), table);
-        TimeSlot savedTimeSlot = timeSlotService.addTimeSlot(timeSlot);
+        TimeSlotDto savedTimeSlot = timeSlotService.addTimeSlot(timeSlot);
 
         mockMvc.perform(delete("/timeslots/" + savedTimeSlot.getId()).with(user(adminUser.getUsername()).roles("ADMIN")))
                 .andExpect(status().isOk());
@@ -1,13 +1,13 @@
 package com.example.restaurantbookingservice.controller;
 
 import com.example.restaurantbookingservice.config.SecurityConfig;
-import com.example.restaurantbookingservice.model.Restaurant;
-import com.example.restaurantbookingservice.model.RestaurantTable;
-import com.example.restaurantbookingservice.model.TimeSlot;
+import com.example.restaurantbookingservice.dto.TimeSlotDto;
 import com.example.restaurantbookingservice.security.JwtAuthenticationEntryPoint;
 import com.example.restaurantbookingservice.security.JwtRequestFilter;
 import com.example.restaurantbookingservice.security.JwtTokenProvider;
+import com.example.restaurantbookingservice.service.ResourceVersionService;
 import com.example.restaurantbookingservice.service.TimeSlotService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -15,6 +15,7 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -33,6 +34,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,12 +51,20 @@ public class TimeSlotControllerTest {
     @MockBean
     private TimeSlotService timeSlotService;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
 
     @MockBean
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
+    @BeforeEach
+    void setUp() {
+        when(resourceVersionService.timeSlotsOfTable(any())).thenReturn(new ResourceVersionService.Version(1, 1_000_000L));
+    }
+
     @TestConfiguration
     static class TestConfig {
         @Bean
@@ -78,11 +89,9 @@ public class TimeSlotControllerTest {
     @Test
     @WithMockUser
     public void testGetAllTimeSlots() throws Exception {
-        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
-        RestaurantTable table = new RestaurantTable(1, 4, restaurant);
-        TimeSlot timeSlot1 = new TimeSlot(LocalDateTime.now(), LocalDateTime.now().plusHours(2), table);
-        TimeSlot timeSlot2 = new TimeSlot(LocalDateTime.now().plusHours(2), LocalDateTime.now().plusHours(4), table);
-        List<TimeSlot> timeSlots = Arrays.asList(timeSlot1, timeSlot2);
+        TimeSlotDto timeSlot1 = new TimeSlotDto(1L, LocalDateTime.now(), LocalDateTime.now().plusHours(2), 1L, 0L, null, 1);
+        TimeSlotDto timeSlot2 = new TimeSlotDto(2L, LocalDateTime.now().plusHours(2), LocalDateTime.now().plusHours(4), 1L, 0L, null, 1);
+        List<TimeSlotDto> timeSlots = Arrays.asList(timeSlot1, timeSlot2);
 
         when(timeSlotService.getAllTimeSlots()).thenReturn(timeSlots);
 
@@ -94,27 +103,23 @@ public class TimeSlotControllerTest {
     @Test
     @WithMockUser
     public void testGetTimeSlotById() throws Exception {
-        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
-        RestaurantTable table = new RestaurantTable(1, 4, restaurant);
-        TimeSlot timeSlot = new TimeSlot(LocalDateTime.now(), LocalDateTime.now().plusHours(2), table);
-        timeSlot.setId(1L);
+        TimeSlotDto timeSlot = new TimeSlotDto(1L, LocalDateTime.now(), LocalDateTime.now().plusHours(2), 3L, 0L, null, 1);
 
         when(timeSlotService.getTimeSlotById(1L)).thenReturn(timeSlot);
 
         mockMvc.perform(get("/timeslots/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(1));
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.restaurantTableId").value(3))
+                .andExpect(jsonPath("$.restaurantTable").doesNotExist());
     }
 
     @Test
     @WithMockUser
     public void testGetTimeSlotsByRestaurantTableId() throws Exception {
-        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
-        RestaurantTable table = new RestaurantTable(1, 4, restaurant);
-        table.setId(1L);
-        TimeSlot timeSlot1 = new TimeSlot(LocalDateTime.now(), LocalDateTime.now().plusHours(2), table);
-        TimeSlot timeSlot2 = new TimeSlot(LocalDateTime.now().plusHours(2), LocalDateTime.now().plusHours(4), table);
-        List<TimeSlot> timeSlots = Arrays.asList(timeSlot1, timeSlot2);
+        TimeSlotDto timeSlot1 = new TimeSlotDto(1L, LocalDateTime.now(), LocalDateTime.now().plusHours(2), 1L, 0L, null, 1);
+        TimeSlotDto timeSlot2 = new TimeSlotDto(2L, LocalDateTime.now().plusHours(2), LocalDateTime.now().plusHours(4), 1L, 0L, null, 1);
+        List<TimeSlotDto> timeSlots = Arrays.asList(timeSlot1, timeSlot2);
 
         when(timeSlotService.getTimeSlotsByRestaurantTableId(1L)).thenReturn(timeSlots);
 
@@ -123,19 +128,30 @@ public class TimeSlotControllerTest {
                 .andExpect(jsonPath("$.length()").value(2));
     }
 
+    @Test
+    @WithMockUser
+    public void testGetTimeSlotsByRestaurantTableId_withCurrentETag_isNotModified() throws Exception {
+        when(timeSlotService.getTimeSlotsByRestaurantTableId(1L)).thenReturn(List.of());
+
+        String eTag = mockMvc.perform(get("/timeslots/table/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/timeslots/table/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        verify(timeSlotService, times(1)).getTimeSlotsByRestaurantTableId(1L);
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     public void testAddTimeSlot() throws Exception {
-        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
-        RestaurantTable table = new RestaurantTable(1, 4, restaurant);
-        TimeSlot timeSlot = new TimeSlot(LocalDateTime.now(), LocalDateTime.now().plusHours(2), table);
-        timeSlot.setId(1L);
+        TimeSlotDto timeSlot = new TimeSlotDto(1L, LocalDateTime.now(), LocalDateTime.now().plusHours(2), 1L, 0L, null, 1);
 
-        when(timeSlotService.addTimeSlot(any(TimeSlot.class))).thenReturn(timeSlot);
+        when(timeSlotService.addTimeSlot(any(TimeSlotDto.class))).thenReturn(timeSlot);
 
         mockMvc.perform(post("/timeslots")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content("{\"startTime\": \"2025-11-15T10:00:00\", \"endTime\": \"2025-11-15T12:00:00\", \"restaurantTable\": {\"id\": 1}}"))
+                        .content("{\"startTime\": \"2025-11-15T10:00:00\", \"endTime\": \"2025-11-15T12:00:00\", \"restaurantTableId\": 1}"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1));
     }
@@ -152,7 +168,7 @@ public class TimeSlotControllerTest {
     public void testAddTimeSlot_asUser_isForbidden() throws Exception {
         mockMvc.perform(post("/timeslots")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content("{\"startTime\": \"2025-11-15T10:00:00\", \"endTime\": \"2025-11-15T12:00:00\", \"restaurantTable\": {\"id\": 1}}"))
+                        .content("{\"startTime\": \"2025-11-15T10:00:00\", \"endTime\": \"2025-11-15T12:00:00\", \"restaurantTableId\": 1}"))
                 .andExpect(status().isForbidden());
     }
 
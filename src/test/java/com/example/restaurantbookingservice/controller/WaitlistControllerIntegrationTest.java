@@ -0,0 +1,144 @@
+package com.example.restaurantbookingservice.controller;
+
+import com.example.restaurantbookingservice.dto.BookingDto;
+import com.example.restaurantbookingservice.dto.RestaurantDto;
+import com.example.restaurantbookingservice.dto.WaitlistEntryDto;
+import com.example.restaurantbookingservice.model.RestaurantTable;
+import com.example.restaurantbookingservice.model.TimeSlot;
+import com.example.restaurantbookingservice.repository.RestaurantRepository;
+import com.example.restaurantbookingservice.service.BookingService;
+import com.example.restaurantbookingservice.service.RestaurantService;
+import com.example.restaurantbookingservice.service.RestaurantTableService;
+import com.example.restaurantbookingservice.service.TimeSlotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+@WithMockUser(roles = {"USER", "ADMIN"})
+public class WaitlistControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private RestaurantTableService restaurantTableService;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Test
+    public void testCancellation_promotesLongestWaitingPartyThatFits() throws Exception {
+        TimeSlot timeSlot = timeSlot(4);
+        BookingDto first = bookingService.addBooking(
+                new BookingDto(null, timeSlot.getId(), 2, "First", null, null, null));
+        BookingDto second = bookingService.addBooking(
+                new BookingDto(null, timeSlot.getId(), 2, "Second", null, null, null));
+
+        join(timeSlot, 3, "Three").andExpect(status().isOk());
+        join(timeSlot, 2, "Two").andExpect(status().isOk());
+
+        // Two seats free up: the party of three waited longer but does not fit.
+        mockMvc.perform(delete("/bookings/" + first.getId())).andExpect(status().isOk());
+        assertEquals(List.of("Second", "Two"), customerNames(timeSlot));
+        mockMvc.perform(get("/waitlist/timeslot/" + timeSlot.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].customerName").value("Three"));
+
+        mockMvc.perform(delete("/bookings/" + second.getId())).andExpect(status().isOk());
+        assertEquals(List.of("Two"), customerNames(timeSlot));
+        join(timeSlot, 2, "Could book").andExpect(status().isBadRequest());
+
+        Long two = bookingService.getBookingsByTimeSlotId(timeSlot.getId()).get(0).getId();
+        mockMvc.perform(delete("/bookings/" + two)).andExpect(status().isOk());
+        assertEquals(List.of("Three"), customerNames(timeSlot));
+        assertEquals(1, timeSlotService.getTimeSlotById(timeSlot.getId()).getRemainingSeats());
+        mockMvc.perform(get("/waitlist/timeslot/" + timeSlot.getId()))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    public void testJoinWaitlist_rejectsPartiesThatCouldBookOrNeverFit() throws Exception {
+        TimeSlot timeSlot = timeSlot(null);
+
+        join(timeSlot, 2, "Could book").andExpect(status().isBadRequest());
+        bookingService.addBooking(new BookingDto(null, timeSlot.getId(), 2, "Booked", null, null, null));
+        join(timeSlot, 5, "Too large").andExpect(status().isBadRequest());
+        join(timeSlot, 4, "Waiting")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timeSlotId").value(timeSlot.getId()))
+                .andExpect(jsonPath("$.requestedAt").exists());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    public void testGetEntryById_isAdminOnly() throws Exception {
+        TimeSlot timeSlot = timeSlot(null);
+        bookingService.addBooking(new BookingDto(null, timeSlot.getId(), 2, "Booked", null, null, null));
+        WaitlistEntryDto entry = objectMapper.readValue(join(timeSlot, 2, "Waiting")
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), WaitlistEntryDto.class);
+
+        mockMvc.perform(get("/waitlist/" + entry.getId())).andExpect(status().isForbidden());
+    }
+
+    private TimeSlot timeSlot(Integer capacity) {
+        RestaurantDto restaurantDto = new RestaurantDto();
+        restaurantDto.setName("Test Restaurant");
+        RestaurantDto savedRestaurant = restaurantService.addRestaurant(restaurantDto);
+        RestaurantTable table = new RestaurantTable(1, 4, null);
+        table.setRestaurant(restaurantRepository.findById(savedRestaurant.getId()).get());
+        restaurantTableService.addTable(table);
+        TimeSlot timeSlot = new TimeSlot(LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(1).plusHours(2), table);
+        timeSlot.setCapacity(capacity);
+        timeSlotService.addTimeSlot(timeSlot);
+        return timeSlot;
+    }
+
+    private ResultActions join(TimeSlot timeSlot, int numberOfPeople, String customerName) throws Exception {
+        WaitlistEntryDto entryDto = new WaitlistEntryDto(null, timeSlot.getId(), numberOfPeople, customerName,
+                null, null, null);
+        return mockMvc.perform(post("/waitlist")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(entryDto)));
+    }
+
+    private List<String> customerNames(TimeSlot timeSlot) {
+        return bookingService.getBookingsByTimeSlotId(timeSlot.getId()).stream()
+                .map(BookingDto::getCustomerName)
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.restaurantbookingservice.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator used to compare the platform-thread and virtual-thread modes: keeps a fixed number
+ * of requests in flight against one endpoint and prints throughput and latency percentiles.
+ *
+ * <pre>
+ * java -cp target/test-classes com.example.restaurantbookingservice.loadtest.LoadGenerator \
+ *     http://localhost:8081/restaurants &lt;jwt&gt; 5000 60
+ * </pre>
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: LoadGenerator <url> <jwt> [concurrency=5000] [seconds=60]");
+            System.exit(1);
+        }
+        URI uri = URI.create(args[0]);
+        String token = args[1];
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 5000;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 60;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicLong errors = new AtomicLong();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        while (System.nanoTime() < deadline) {
+            inFlight.acquire();
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                if (failure != null || response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                } else {
+                    latencies.add(System.nanoTime() - start);
+                }
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(concurrency);
+
+        List<Long> sorted;
+        synchronized (latencies) {
+            sorted = new ArrayList<>(latencies);
+        }
+        Collections.sort(sorted);
+        System.out.printf("concurrency=%d duration=%ds ok=%d errors=%d throughput=%.1f req/s%n",
+                concurrency, seconds, sorted.size(), errors.get(), sorted.size() / (double) seconds);
+        if (!sorted.isEmpty()) {
+            System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted.get(sorted.size() - 1) / 1e6);
+        }
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)) / 1e6;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.restaurantbookingservice.loadtest;
+
+import com.example.restaurantbookingservice.dto.AvailableTimeSlotDto;
+import com.example.restaurantbookingservice.model.Restaurant;
+import com.example.restaurantbookingservice.model.RestaurantTable;
+import com.example.restaurantbookingservice.model.TimeSlot;
+import com.example.restaurantbookingservice.service.AvailabilityService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Replays a booking trace against one restaurant twice, once with the slot a client would pick from the
+ * availability search and once with server-side best-fit assignment, and prints how many guests each seats and how
+ * full the booked tables are.
+ * <p>
+ * A trace is a CSV file of {@code startTime,partySize} lines in arrival order, with ISO local date-times; without
+ * one a seeded evening of demand is generated. Slots last two hours and every table offers one per start time found
+ * in the trace.
+ *
+ * <pre>
+ * java -cp target/test-classes:target/classes:&lt;runtime classpath&gt; \
+ *     com.example.restaurantbookingservice.loadtest.SeatUtilizationSimulation [trace.csv]
+ * </pre>
+ */
+public class SeatUtilizationSimulation {
+
+    // Eight two-tops, six four-tops, four six-tops and two eight-tops.
+    private static final int[] FLOOR_PLAN = {2, 2, 2, 2, 2, 2, 2, 2, 4, 4, 4, 4, 4, 4, 6, 6, 6, 6, 8, 8};
+    private static final int SLOT_HOURS = 2;
+    private static final long RESTAURANT_ID = 1L;
+
+    public static void main(String[] args) throws Exception {
+        List<Request> trace = args.length > 0 ? readTrace(Path.of(args[0])) : generateTrace(new Random(42), 60);
+
+        System.out.printf("requests=%d tables=%d seats per sitting=%d%n",
+                trace.size(), FLOOR_PLAN.length, totalSeats());
+        print("client choice", replay(trace, false));
+        print("best fit", replay(trace, true));
+    }
+
+    private static Outcome replay(List<Request> trace, boolean bestFit) {
+        AvailabilityService availabilityService = new AvailabilityService();
+        Restaurant restaurant = new Restaurant("Simulated", "Main Street", "1234567890", "sim@test.com");
+        restaurant.setId(RESTAURANT_ID);
+
+        // Table ids are shuffled so that the client's pick, the first search result, does not favour small tables.
+        List<Integer> capacities = new ArrayList<>();
+        for (int capacity : FLOOR_PLAN) {
+            capacities.add(capacity);
+        }
+        Collections.shuffle(capacities, new Random(7));
+        List<RestaurantTable> tables = new ArrayList<>();
+        for (int i = 0; i < capacities.size(); i++) {
+            RestaurantTable table = new RestaurantTable(i + 1, capacities.get(i), restaurant);
+            table.setId(i + 1L);
+            availabilityService.registerTable(table);
+            tables.add(table);
+        }
+
+        Set<LocalDateTime> starts = new TreeSet<>();
+        trace.forEach(request -> starts.add(request.startTime));
+        long nextSlotId = 1;
+        int[] seatsBySlot = new int[starts.size() * tables.size() + 1];
+        for (LocalDateTime start : starts) {
+            for (RestaurantTable table : tables) {
+                TimeSlot timeSlot = new TimeSlot(start, start.plusHours(SLOT_HOURS), table);
+                timeSlot.setId(nextSlotId);
+                seatsBySlot[(int) nextSlotId++] = table.getCapacity();
+                availabilityService.registerTimeSlot(timeSlot);
+            }
+        }
+
+        Outcome outcome = new Outcome();
+        for (Request request : trace) {
+            Long timeSlotId = bestFit
+                    ? availabilityService.findBestFitTimeSlot(RESTAURANT_ID, request.partySize, request.startTime,
+                    Set.of())
+                    : clientChoice(availabilityService, request);
+            if (timeSlotId == null) {
+                outcome.turnedAway++;
+                outcome.guestsTurnedAway += request.partySize;
+                continue;
+            }
+            availabilityService.markBooked(timeSlotId);
+            outcome.seated++;
+            outcome.guestsSeated += request.partySize;
+            outcome.seatsOccupied += seatsBySlot[timeSlotId.intValue()];
+        }
+        outcome.seatsOffered = (long) totalSeats() * starts.size();
+        return outcome;
+    }
+
+    // What a client does today: search for the party size and take the first slot at the requested time.
+    private static Long clientChoice(AvailabilityService availabilityService, Request request) {
+        for (AvailableTimeSlotDto slot : availabilityService.search(RESTAURANT_ID, request.partySize,
+                request.startTime, request.startTime.plusHours(SLOT_HOURS), 0, FLOOR_PLAN.length)) {
+            if (slot.getStartTime().equals(request.startTime)) {
+                return slot.getTimeSlotId();
+            }
+        }
+        return null;
+    }
+
+    private static List<Request> readTrace(Path path) throws Exception {
+        List<Request> trace = new ArrayList<>();
+        for (String line : Files.readAllLines(path)) {
+            String[] fields = line.trim().split(",");
+            if (fields.length < 2 || fields[0].startsWith("#") || fields[0].equals("startTime")) {
+                continue;
+            }
+            trace.add(new Request(LocalDateTime.parse(fields[0].trim()), Integer.parseInt(fields[1].trim())));
+        }
+        return trace;
+    }
+
+    // Mostly couples and foursomes across three sittings, with demand close to capacity so that placement matters.
+    private static List<Request> generateTrace(Random random, int requests) {
+        LocalDate day = LocalDate.now().plusDays(1);
+        LocalDateTime[] sittings = {day.atTime(17, 0), day.atTime(19, 0), day.atTime(21, 0)};
+        List<Request> trace = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            double draw = random.nextDouble();
+            int partySize = draw < 0.45 ? 2 : draw < 0.55 ? 1 : draw < 0.70 ? 3 : draw < 0.88 ? 4
+                    : draw < 0.96 ? 5 + random.nextInt(2) : 7 + random.nextInt(2);
+            trace.add(new Request(sittings[random.nextInt(sittings.length)], partySize));
+        }
+        return trace;
+    }
+
+    private static int totalSeats() {
+        int seats = 0;
+        for (int capacity : FLOOR_PLAN) {
+            seats += capacity;
+        }
+        return seats;
+    }
+
+    private static void print(String policy, Outcome outcome) {
+        System.out.printf("%-14s seated=%d parties/%d guests turnedAway=%d parties/%d guests "
+                        + "utilization(booked tables)=%.1f%% utilization(all seats)=%.1f%%%n",
+                policy, outcome.seated, outcome.guestsSeated, outcome.turnedAway, outcome.guestsTurnedAway,
+                100.0 * outcome.guestsSeated / Math.max(outcome.seatsOccupied, 1),
+                100.0 * outcome.guestsSeated / Math.max(outcome.seatsOffered, 1));
+    }
+
+    private static final class Request {
+        private final LocalDateTime startTime;
+        private final int partySize;
+
+        private Request(LocalDateTime startTime, int partySize) {
+            this.startTime = startTime;
+            this.partySize = partySize;
+        }
+    }
+
+    private static final class Outcome {
+        private int seated;
+        private int turnedAway;
+        private long guestsSeated;
+        private long guestsTurnedAway;
+        private long seatsOccupied;
+        private long seatsOffered;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.restaurantbookingservice.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_delegateToBCrypt() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5));
+
+        String hash = encoder.encode("password");
+
+        assertTrue(encoder.matches("password", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void encode_whenPoolAndQueueAreFull_isRejected() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(started, release), 1, 0, Duration.ofSeconds(5));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(PasswordHashingOverloadedException.class, () -> encoder.encode("second"));
+
+        release.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encode_whenHashingTakesTooLong_timesOut() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(started, release), 1, 1, Duration.ofMillis(50));
+
+        assertThrows(PasswordHashingOverloadedException.class, () -> encoder.encode("slow"));
+        release.countDown();
+    }
+
+    @Test
+    void encode_whenCallerTimesOutWhileQueued_freesTheQueueSlotAndSkipsTheHash() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingEncoder delegate = new BlockingEncoder(started, release);
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofMillis(100));
+
+        CompletableFuture.runAsync(() -> encoder.encode("running"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertThrows(PasswordHashingOverloadedException.class, () -> encoder.encode("abandoned"));
+
+        // The abandoned hash no longer holds the only queue slot.
+        CompletableFuture<String> next = CompletableFuture.supplyAsync(() -> {
+            try {
+                return encoder.encode("next");
+            } catch (PasswordHashingOverloadedException e) {
+                return e.getMessage();
+            }
+        });
+        Thread.sleep(20);
+        release.countDown();
+
+        assertEquals("next", next.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("running", "next"), delegate.encoded);
+    }
+
+    private static class BlockingEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+        private final List<String> encoded = new CopyOnWriteArrayList<>();
+
+        BlockingEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            encoded.add(rawPassword.toString());
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
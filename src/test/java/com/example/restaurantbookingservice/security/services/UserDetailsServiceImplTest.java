@@ -0,0 +1,76 @@
+package com.example.restaurantbookingservice.security.services;
+
+import com.example.restaurantbookingservice.config.CacheConfig;
+import com.example.restaurantbookingservice.model.User;
+import com.example.restaurantbookingservice.repository.UserRepository;
+import com.example.restaurantbookingservice.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserDetailsServiceImplTest {
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE);
+        cache.clear();
+
+        User user = new User("cacheduser", "password");
+        user.setRoles(new HashSet<>());
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername("cacheduser").ifPresent(userRepository::delete);
+        cache.clear();
+    }
+
+    @Test
+    void loadUserByUsername_isServedFromCache() {
+        UserDetails first = userDetailsService.loadUserByUsername("cacheduser");
+        UserDetails second = userDetailsService.loadUserByUsername("cacheduser");
+
+        assertSame(first, second);
+        assertNotNull(cache.get("cacheduser"));
+    }
+
+    @Test
+    void save_evictsCachedUser() {
+        userDetailsService.loadUserByUsername("cacheduser");
+
+        User user = userRepository.findByUsername("cacheduser").orElseThrow();
+        user.setPassword("changed");
+        userService.save(user);
+
+        assertNull(cache.get("cacheduser"));
+    }
+}
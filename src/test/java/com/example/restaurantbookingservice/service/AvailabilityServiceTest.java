@@ -0,0 +1,182 @@
+package com.example.restaurantbookingservice.service;
+
+import com.example.restaurantbookingservice.dto.AvailableTimeSlotDto;
+import com.example.restaurantbookingservice.model.Restaurant;
+import com.example.restaurantbookingservice.model.RestaurantTable;
+import com.example.restaurantbookingservice.model.TimeSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvailabilityServiceTest {
+
+    private AvailabilityService availabilityService;
+    private RestaurantTable table;
+    private LocalDateTime tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        availabilityService = new AvailabilityService();
+        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
+        table = new RestaurantTable(1, 4, restaurant);
+        table.setId(10L);
+        tomorrow = LocalDate.now().plusDays(1).atTime(18, 0);
+    }
+
+    @Test
+    void isTableFree_coveredByUnbookedSlots() {
+        availabilityService.registerTimeSlot(timeSlot(1L, tomorrow, tomorrow.plusHours(1)));
+        availabilityService.registerTimeSlot(timeSlot(2L, tomorrow.plusHours(1), tomorrow.plusHours(2)));
+
+        assertTrue(availabilityService.isTableFree(10L, tomorrow, tomorrow.plusHours(2)));
+        assertTrue(availabilityService.isTableFree(10L, tomorrow.plusMinutes(30), tomorrow.plusMinutes(90)));
+        assertFalse(availabilityService.isTableFree(10L, tomorrow.minusMinutes(15), tomorrow.plusHours(1)));
+    }
+
+    @Test
+    void markBookedAndFree_updateOccupancy() {
+        availabilityService.registerTimeSlot(timeSlot(1L, tomorrow, tomorrow.plusHours(1)));
+        availabilityService.registerTimeSlot(timeSlot(2L, tomorrow.plusHours(1), tomorrow.plusHours(2)));
+
+        availabilityService.markBooked(2L);
+
+        assertTrue(availabilityService.isTimeSlotBooked(2L));
+        assertTrue(availabilityService.isTableFree(10L, tomorrow, tomorrow.plusHours(1)));
+        assertFalse(availabilityService.isTableFree(10L, tomorrow, tomorrow.plusHours(2)));
+        assertEquals(List.of(1L), availabilityService.findFreeTimeSlotIds(10L, tomorrow, tomorrow.plusHours(2)));
+
+        availabilityService.updateRemainingSeats(2L, 1);
+
+        assertFalse(availabilityService.isTimeSlotBooked(2L));
+        assertTrue(availabilityService.isTableFree(10L, tomorrow, tomorrow.plusHours(2)));
+    }
+
+    @Test
+    void unregisterTimeSlot_removesOfferedTime() {
+        availabilityService.registerTimeSlot(timeSlot(1L, tomorrow, tomorrow.plusHours(1)));
+
+        availabilityService.unregisterTimeSlot(1L);
+
+        assertFalse(availabilityService.isTableFree(10L, tomorrow, tomorrow.plusHours(1)));
+        assertTrue(availabilityService.findFreeTimeSlotIds(10L, tomorrow, tomorrow.plusHours(1)).isEmpty());
+    }
+
+    @Test
+    void isTableFree_beyondHorizonFallsBackToSlots() {
+        LocalDateTime farAhead = tomorrow.plusYears(1);
+        availabilityService.registerTimeSlot(timeSlot(1L, farAhead, farAhead.plusHours(1)));
+
+        assertTrue(availabilityService.isTableFree(10L, farAhead, farAhead.plusHours(1)));
+
+        availabilityService.markBooked(1L);
+
+        assertFalse(availabilityService.isTableFree(10L, farAhead, farAhead.plusHours(1)));
+    }
+
+    @Test
+    void search_filtersByCapacityRestaurantAndBookingAndPaginates() {
+        Restaurant other = new Restaurant("Other Restaurant", "Other Address", "0987654321", "other@test.com");
+        other.setId(2L);
+        RestaurantTable twoTop = new RestaurantTable(2, 2, table.getRestaurant());
+        twoTop.setId(11L);
+        RestaurantTable otherTable = new RestaurantTable(1, 6, other);
+        otherTable.setId(20L);
+        table.getRestaurant().setId(1L);
+        availabilityService.registerTable(table);
+        availabilityService.registerTable(twoTop);
+        availabilityService.registerTable(otherTable);
+
+        availabilityService.registerTimeSlot(timeSlot(1L, tomorrow, tomorrow.plusHours(1)));
+        availabilityService.registerTimeSlot(timeSlot(2L, tomorrow.plusHours(1), tomorrow.plusHours(2)));
+        availabilityService.registerTimeSlot(timeSlot(3L, tomorrow, tomorrow.plusHours(1), twoTop));
+        availabilityService.registerTimeSlot(timeSlot(4L, tomorrow.plusMinutes(30), tomorrow.plusHours(1), otherTable));
+        availabilityService.markBooked(2L);
+
+        List<AvailableTimeSlotDto> all = availabilityService.search(null, 4, tomorrow, tomorrow.plusHours(3), 0, 10);
+        assertEquals(List.of(1L, 4L), all.stream().map(AvailableTimeSlotDto::getTimeSlotId).toList());
+        assertEquals(2L, all.get(1).getRestaurantId());
+
+        List<AvailableTimeSlotDto> restaurantOnly = availabilityService.search(1L, 2, tomorrow, tomorrow.plusHours(3), 0, 10);
+        assertEquals(List.of(1L, 3L), restaurantOnly.stream().map(AvailableTimeSlotDto::getTimeSlotId).toList());
+
+        List<AvailableTimeSlotDto> secondPage = availabilityService.search(null, 2, tomorrow, tomorrow.plusHours(3), 1, 2);
+        assertEquals(List.of(4L), secondPage.stream().map(AvailableTimeSlotDto::getTimeSlotId).toList());
+    }
+
+    @Test
+    void findBestFitTimeSlot_picksTheSmallestFreeTableThatSeatsTheParty() {
+        table.getRestaurant().setId(1L);
+        RestaurantTable twoTop = new RestaurantTable(2, 2, table.getRestaurant());
+        twoTop.setId(11L);
+        RestaurantTable eightTop = new RestaurantTable(3, 8, table.getRestaurant());
+        eightTop.setId(12L);
+        availabilityService.registerTable(table);
+        availabilityService.registerTable(twoTop);
+        availabilityService.registerTable(eightTop);
+        availabilityService.registerTimeSlot(timeSlot(1L, tomorrow, tomorrow.plusHours(2)));
+        availabilityService.registerTimeSlot(timeSlot(2L, tomorrow, tomorrow.plusHours(2), twoTop));
+        availabilityService.registerTimeSlot(timeSlot(3L, tomorrow, tomorrow.plusHours(2), eightTop));
+
+        assertEquals(2L, availabilityService.findBestFitTimeSlot(1L, 2, tomorrow, Set.of()));
+        assertEquals(1L, availabilityService.findBestFitTimeSlot(1L, 3, tomorrow, Set.of()));
+        assertEquals(3L, availabilityService.findBestFitTimeSlot(1L, 3, tomorrow, Set.of(1L)));
+
+        availabilityService.markBooked(1L);
+        assertEquals(3L, availabilityService.findBestFitTimeSlot(1L, 3, tomorrow, Set.of()));
+
+        table.setCapacity(10);
+        availabilityService.registerTable(table);
+        assertNull(availabilityService.findBestFitTimeSlot(1L, 9, tomorrow, Set.of()));
+        availabilityService.updateRemainingSeats(1L, 1);
+        assertEquals(1L, availabilityService.findBestFitTimeSlot(1L, 9, tomorrow, Set.of()));
+        assertNull(availabilityService.findBestFitTimeSlot(1L, 2, tomorrow.plusHours(1), Set.of()));
+    }
+
+    @Test
+    void sharedSlot_isOfferedOnlyToPartiesThatFitTheRemainingSeats() {
+        RestaurantTable bar = new RestaurantTable(2, 10, table.getRestaurant());
+        bar.setId(12L);
+        table.getRestaurant().setId(1L);
+        availabilityService.registerTable(bar);
+        TimeSlot shared = timeSlot(1L, tomorrow, tomorrow.plusHours(2), bar);
+        shared.setCapacity(10);
+        availabilityService.registerTimeSlot(shared);
+
+        availabilityService.updateRemainingSeats(1L, 1);
+
+        assertFalse(availabilityService.isTimeSlotBooked(1L));
+        assertTrue(availabilityService.search(1L, 6, tomorrow, tomorrow.plusHours(2), 0, 10).isEmpty());
+        assertNull(availabilityService.findBestFitTimeSlot(1L, 6, tomorrow, Set.of()));
+        assertEquals(1, availabilityService.search(1L, 1, tomorrow, tomorrow.plusHours(2), 0, 10).size());
+        assertEquals(1L, availabilityService.findBestFitTimeSlot(1L, 1, tomorrow, Set.of()));
+        // A table with any seat sold cannot be handed out whole.
+        assertFalse(availabilityService.isTableFree(12L, tomorrow, tomorrow.plusHours(2)));
+        assertTrue(availabilityService.findFreeTimeSlotIds(12L, tomorrow, tomorrow.plusHours(2)).isEmpty());
+
+        availabilityService.updateRemainingSeats(1L, 10);
+
+        assertTrue(availabilityService.isTableFree(12L, tomorrow, tomorrow.plusHours(2)));
+        assertEquals(1L, availabilityService.findBestFitTimeSlot(1L, 6, tomorrow, Set.of()));
+    }
+
+    private TimeSlot timeSlot(Long id, LocalDateTime start, LocalDateTime end, RestaurantTable restaurantTable) {
+        TimeSlot timeSlot = new TimeSlot(start, end, restaurantTable);
+        timeSlot.setId(id);
+        return timeSlot;
+    }
+
+    private TimeSlot timeSlot(Long id, LocalDateTime start, LocalDateTime end) {
+        TimeSlot timeSlot = new TimeSlot(start, end, table);
+        timeSlot.setId(id);
+        return timeSlot;
+    }
+}
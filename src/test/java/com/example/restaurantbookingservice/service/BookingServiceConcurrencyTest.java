@@ -0,0 +1,156 @@
+package com.example.restaurantbookingservice.service;
+
+import com.example.restaurantbookingservice.dto.BookingDto;
+import com.example.restaurantbookingservice.model.Restaurant;
+import com.example.restaurantbookingservice.model.RestaurantTable;
+import com.example.restaurantbookingservice.model.TimeSlot;
+import com.example.restaurantbookingservice.repository.BookingRepository;
+import com.example.restaurantbookingservice.repository.RestaurantRepository;
+import com.example.restaurantbookingservice.repository.RestaurantTableRepository;
+import com.example.restaurantbookingservice.repository.TimeSlotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingServiceConcurrencyTest {
+
+    private static final int THREADS = 200;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    private Restaurant restaurant;
+    private RestaurantTable table;
+    private final List<TimeSlot> timeSlots = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        restaurant = restaurantRepository.save(new Restaurant("Rush Hour", "Main Street", "1234567890", "rush@test.com"));
+        table = restaurantTableRepository.save(new RestaurantTable(1, 4, restaurant));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (TimeSlot timeSlot : timeSlots) {
+            bookingRepository.deleteAll(bookingRepository.findByTimeSlotId(timeSlot.getId()));
+            timeSlotRepository.deleteById(timeSlot.getId());
+        }
+        restaurantTableRepository.deleteById(table.getId());
+        restaurantRepository.deleteById(restaurant.getId());
+    }
+
+    @Test
+    void addBooking_sameTimeSlotFromManyThreads_admitsExactlyOne() throws Exception {
+        TimeSlot timeSlot = newTimeSlot(0);
+
+        List<BookingDto> results = runConcurrently(i -> bookingFor(timeSlot, "Customer " + i));
+
+        long winners = results.stream().filter(result -> result != null).count();
+        assertEquals(1, winners);
+        assertEquals(1, bookingRepository.findByTimeSlotId(timeSlot.getId()).size());
+    }
+
+    @Test
+    void addBooking_sharedTimeSlotFromManyThreads_admitsExactlyItsCapacity() throws Exception {
+        TimeSlot timeSlot = newTimeSlot(0, 50);
+
+        List<BookingDto> results = runConcurrently(i -> bookingFor(timeSlot, "Customer " + i));
+
+        int admittedSeats = results.stream()
+                .filter(result -> result != null)
+                .mapToInt(BookingDto::getNumberOfPeople)
+                .sum();
+        assertEquals(50, admittedSeats);
+        assertEquals(25, bookingRepository.findByTimeSlotId(timeSlot.getId()).size());
+        assertEquals(0, timeSlotRepository.findDtoById(timeSlot.getId()).orElseThrow().getRemainingSeats());
+    }
+
+    @Test
+    void addBooking_distinctTimeSlotsFromManyThreads_admitsAll() throws Exception {
+        List<TimeSlot> slots = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            slots.add(newTimeSlot(i));
+        }
+
+        List<BookingDto> results = runConcurrently(i -> bookingFor(slots.get(i), "Customer " + i));
+
+        long winners = results.stream().filter(result -> result != null).count();
+        assertEquals(THREADS, winners);
+    }
+
+    private TimeSlot newTimeSlot(int offsetHours) {
+        return newTimeSlot(offsetHours, null);
+    }
+
+    private TimeSlot newTimeSlot(int offsetHours, Integer capacity) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).plusHours(offsetHours);
+        TimeSlot timeSlot = new TimeSlot(start, start.plusHours(1), table);
+        timeSlot.setCapacity(capacity);
+        timeSlot = timeSlotRepository.save(timeSlot);
+        timeSlots.add(timeSlot);
+        return timeSlot;
+    }
+
+    private BookingDto bookingFor(TimeSlot timeSlot, String customerName) {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setTimeSlotId(timeSlot.getId());
+        bookingDto.setNumberOfPeople(2);
+        bookingDto.setCustomerName(customerName);
+        return bookingDto;
+    }
+
+    private List<BookingDto> runConcurrently(IntFunction<BookingDto> requestFactory) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<BookingDto>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                BookingDto request = requestFactory.apply(i);
+                Callable<BookingDto> task = () -> {
+                    startGate.await();
+                    return bookingService.addBooking(request);
+                };
+                futures.add(executor.submit(task));
+            }
+            startGate.countDown();
+
+            List<BookingDto> results = new ArrayList<>();
+            for (Future<BookingDto> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,23 +1,30 @@
 package com.example.restaurantbookingservice.service;
 
+import com.example.restaurantbookingservice.dto.BookingAssignmentDto;
 import com.example.restaurantbookingservice.dto.BookingDto;
+import com.example.restaurantbookingservice.dto.TimeSlotDto;
 import com.example.restaurantbookingservice.mapper.BookingMapper;
 import com.example.restaurantbookingservice.model.Booking;
 import com.example.restaurantbookingservice.model.Restaurant;
 import com.example.restaurantbookingservice.model.RestaurantTable;
 import com.example.restaurantbookingservice.model.TimeSlot;
 import com.example.restaurantbookingservice.repository.BookingRepository;
+import com.example.restaurantbookingservice.repository.TimeSlotRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -34,74 +41,77 @@ class BookingServiceTest {
     @Mock
     BookingMapper bookingMapper;
 
+    @Mock
+    AvailabilityService availabilityService;
+
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    TimeSlotRepository timeSlotRepository;
+
+    @Mock
+    ResourceVersionService resourceVersionService;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    WaitlistService waitlistService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
     }
 
     @Test
     void getAllBookings() {
-        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
-        RestaurantTable table = new RestaurantTable(1, 4, restaurant);
-        TimeSlot timeSlot = new TimeSlot(LocalDateTime.now(), LocalDateTime.now().plusHours(2), table);
-        Booking booking1 = new Booking(timeSlot, 2, "Customer 1", "1234567890", "c1@email.com");
-        Booking booking2 = new Booking(timeSlot, 4, "Customer 2", "0987654321", "c2@email.com");
-        List<Booking> bookings = Arrays.asList(booking1, booking2);
         BookingDto bookingDto1 = new BookingDto();
         bookingDto1.setCustomerName("Customer 1");
         BookingDto bookingDto2 = new BookingDto();
         bookingDto2.setCustomerName("Customer 2");
 
-        when(bookingRepository.findAll()).thenReturn(bookings);
-        when(bookingMapper.toDto(booking1)).thenReturn(bookingDto1);
-        when(bookingMapper.toDto(booking2)).thenReturn(bookingDto2);
+        when(bookingRepository.findAllDtos()).thenReturn(Arrays.asList(bookingDto1, bookingDto2));
 
         List<BookingDto> result = bookingService.getAllBookings();
 
         assertEquals(2, result.size());
-        verify(bookingRepository, times(1)).findAll();
+        verify(bookingRepository, times(1)).findAllDtos();
+        verify(bookingRepository, never()).findAll();
     }
 
     @Test
     void getBookingById() {
-        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
-        RestaurantTable table = new RestaurantTable(1, 4, restaurant);
-        TimeSlot timeSlot = new TimeSlot(LocalDateTime.now(), LocalDateTime.now().plusHours(2), table);
-        Booking booking = new Booking(timeSlot, 2, "Customer 1", "1234567890", "c1@email.com");
         BookingDto bookingDto = new BookingDto();
         bookingDto.setCustomerName("Customer 1");
 
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(bookingDto);
+        when(bookingRepository.findDtoById(1L)).thenReturn(Optional.of(bookingDto));
 
         BookingDto result = bookingService.getBookingById(1L);
 
         assertEquals("Customer 1", result.getCustomerName());
-        verify(bookingRepository, times(1)).findById(1L);
+        verify(bookingRepository, never()).findById(anyLong());
     }
 
     @Test
     void getBookingsByTimeSlotId() {
-        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
-        RestaurantTable table = new RestaurantTable(1, 4, restaurant);
-        TimeSlot timeSlot = new TimeSlot(LocalDateTime.now(), LocalDateTime.now().plusHours(2), table);
-        timeSlot.setId(1L);
-        Booking booking1 = new Booking(timeSlot, 2, "Customer 1", "1234567890", "c1@email.com");
-        Booking booking2 = new Booking(timeSlot, 4, "Customer 2", "0987654321", "c2@email.com");
-        List<Booking> bookings = Arrays.asList(booking1, booking2);
         BookingDto bookingDto1 = new BookingDto();
         bookingDto1.setCustomerName("Customer 1");
         BookingDto bookingDto2 = new BookingDto();
         bookingDto2.setCustomerName("Customer 2");
 
-        when(bookingRepository.findByTimeSlotId(1L)).thenReturn(bookings);
-        when(bookingMapper.toDto(booking1)).thenReturn(bookingDto1);
-        when(bookingMapper.toDto(booking2)).thenReturn(bookingDto2);
+        when(bookingRepository.findDtosByTimeSlotId(1L)).thenReturn(Arrays.asList(bookingDto1, bookingDto2));
 
         List<BookingDto> result = bookingService.getBookingsByTimeSlotId(1L);
 
         assertEquals(2, result.size());
-        verify(bookingRepository, times(1)).findByTimeSlotId(1L);
+        verify(bookingRepository, never()).findByTimeSlotId(anyLong());
     }
 
     @Test
@@ -115,7 +125,8 @@ class BookingServiceTest {
         bookingDto.setTimeSlotId(1L);
         bookingDto.setCustomerName("Customer 1");
 
-        when(bookingRepository.findByTimeSlotId(1L)).thenReturn(Collections.emptyList());
+        when(timeSlotRepository.claimSeats(1L, 1)).thenReturn(1);
+        when(timeSlotRepository.findDtoById(1L)).thenReturn(Optional.of(timeSlotDto(1L, 3L, 0)));
         when(bookingMapper.toEntity(bookingDto)).thenReturn(booking);
         when(bookingRepository.save(booking)).thenReturn(booking);
         when(bookingMapper.toDto(booking)).thenReturn(bookingDto);
@@ -123,32 +134,125 @@ class BookingServiceTest {
         BookingDto result = bookingService.addBooking(bookingDto);
 
         assertEquals("Customer 1", result.getCustomerName());
-        verify(bookingRepository, times(1)).findByTimeSlotId(1L);
+        verify(timeSlotRepository, times(1)).claimSeats(1L, 1);
+        verify(bookingRepository, times(1)).save(booking);
+        verify(availabilityService, times(1)).updateRemainingSeats(1L, 0);
+        verify(resourceVersionService, times(1)).seatsChanged(3L);
+    }
+
+    @Test
+    void assignBooking_movesToTheNextBestSlotWhenTheFirstIsTaken() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = new Booking();
+        BookingDto saved = new BookingDto();
+        saved.setTimeSlotId(2L);
+
+        when(availabilityService.findBestFitTimeSlot(eq(1L), eq(2), eq(start), anySet())).thenReturn(1L, 2L);
+        when(timeSlotRepository.claimSeats(1L, 2)).thenReturn(0);
+        when(timeSlotRepository.claimSeats(2L, 2)).thenReturn(1);
+        when(timeSlotRepository.findDtoById(2L)).thenReturn(Optional.of(timeSlotDto(2L, 3L, 0)));
+        when(bookingMapper.toEntity(any(BookingDto.class))).thenReturn(booking);
+        when(bookingRepository.save(booking)).thenReturn(booking);
+        when(bookingMapper.toDto(booking)).thenReturn(saved);
+
+        BookingDto result = bookingService.assignBooking(
+                new BookingAssignmentDto(1L, start, 2, "Customer 1", "1234567890", "c1@email.com"));
+
+        assertEquals(2L, result.getTimeSlotId());
+        verify(availabilityService, times(2)).findBestFitTimeSlot(eq(1L), eq(2), eq(start), anySet());
+        verify(availabilityService, times(1)).updateRemainingSeats(2L, 0);
+    }
+
+    @Test
+    void addBooking_whenAvailabilityIndexReportsBooked() {
+        BookingDto newBookingDto = new BookingDto();
+        newBookingDto.setTimeSlotId(1L);
+
+        when(availabilityService.isTimeSlotBooked(1L)).thenReturn(true);
+        when(timeSlotRepository.findDtoById(1L)).thenReturn(Optional.of(timeSlotDto(1L, 3L, 0)));
+
+        BookingDto result = bookingService.addBooking(newBookingDto);
+
+        assertNull(result);
+        verify(timeSlotRepository, never()).claimSeats(anyLong(), anyInt());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void addBooking_whenAvailabilityIndexIsStale() {
+        Booking booking = new Booking();
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setTimeSlotId(1L);
+
+        // Freed by a cancellation on another instance.
+        when(availabilityService.isTimeSlotBooked(1L)).thenReturn(true);
+        when(timeSlotRepository.findDtoById(1L))
+                .thenReturn(Optional.of(timeSlotDto(1L, 3L, 1)), Optional.of(timeSlotDto(1L, 3L, 0)));
+        when(timeSlotRepository.claimSeats(1L, 1)).thenReturn(1);
+        when(bookingMapper.toEntity(bookingDto)).thenReturn(booking);
+        when(bookingRepository.save(booking)).thenReturn(booking);
+        when(bookingMapper.toDto(booking)).thenReturn(bookingDto);
+
+        assertEquals(bookingDto, bookingService.addBooking(bookingDto));
+        verify(availabilityService, times(1)).updateRemainingSeats(1L, 1);
+        verify(availabilityService, times(1)).updateRemainingSeats(1L, 0);
         verify(bookingRepository, times(1)).save(booking);
     }
 
     @Test
     void addBooking_whenTimeSlotIsTaken() {
-        Restaurant restaurant = new Restaurant("Test Restaurant", "Test Address", "1234567890", "test@test.com");
-        RestaurantTable table = new RestaurantTable(1, 4, restaurant);
-        TimeSlot timeSlot = new TimeSlot(LocalDateTime.now(), LocalDateTime.now().plusHours(2), table);
-        timeSlot.setId(1L);
-        Booking existingBooking = new Booking(timeSlot, 2, "Customer 1", "1234567890", "c1@email.com");
         BookingDto newBookingDto = new BookingDto();
         newBookingDto.setTimeSlotId(1L);
 
-        when(bookingRepository.findByTimeSlotId(1L)).thenReturn(Arrays.asList(existingBooking));
+        when(timeSlotRepository.claimSeats(1L, 1)).thenReturn(0);
 
         BookingDto result = bookingService.addBooking(newBookingDto);
 
         assertNull(result);
-        verify(bookingRepository, times(1)).findByTimeSlotId(1L);
+        verify(timeSlotRepository, times(1)).claimSeats(1L, 1);
         verify(bookingRepository, never()).save(any(Booking.class));
     }
 
+    @Test
+    void addBooking_onSharedSlot_staysAvailableWhileSeatsRemain() {
+        Booking booking = new Booking();
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setTimeSlotId(1L);
+        bookingDto.setNumberOfPeople(3);
+
+        when(timeSlotRepository.claimSeats(1L, 3)).thenReturn(1);
+        when(timeSlotRepository.findDtoById(1L)).thenReturn(Optional.of(timeSlotDto(1L, 3L, 9)));
+        when(bookingMapper.toEntity(bookingDto)).thenReturn(booking);
+        when(bookingRepository.save(booking)).thenReturn(booking);
+        when(bookingMapper.toDto(booking)).thenReturn(bookingDto);
+
+        bookingService.addBooking(bookingDto);
+
+        verify(availabilityService, never()).updateRemainingSeats(anyLong(), eq(0));
+        verify(availabilityService, times(1)).updateRemainingSeats(1L, 9);
+    }
+
     @Test
     void deleteBooking() {
+        TimeSlot timeSlot = new TimeSlot();
+        timeSlot.setId(7L);
+        Booking booking = new Booking(timeSlot, 4, "Customer 1", "1234567890", "c1@email.com");
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(timeSlotRepository.findDtoById(7L)).thenReturn(Optional.of(timeSlotDto(7L, 3L, 1)));
+
         bookingService.deleteBooking(1L);
-        verify(bookingRepository, times(1)).deleteById(1L);
+
+        verify(bookingRepository, times(1)).delete(booking);
+        verify(timeSlotRepository, times(1)).releaseSeats(7L, 4);
+        verify(waitlistService, times(1)).promote(7L);
+        verify(availabilityService, times(1)).updateRemainingSeats(7L, 1);
+    }
+
+    private static TimeSlotDto timeSlotDto(Long id, Long restaurantTableId, int remainingSeats) {
+        TimeSlotDto timeSlotDto = new TimeSlotDto();
+        timeSlotDto.setId(id);
+        timeSlotDto.setRestaurantTableId(restaurantTableId);
+        timeSlotDto.setRemainingSeats(remainingSeats);
+        return timeSlotDto;
     }
 }
@@ -0,0 +1,75 @@
+package com.example.restaurantbookingservice.service;
+
+import com.example.restaurantbookingservice.model.TimeSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class OptimisticLockRetryTest {
+
+    @InjectMocks
+    OptimisticLockRetry optimisticLockRetry;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(optimisticLockRetry, "backoff", Duration.ZERO);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void execute_retriesConcurrentConflictUntilItSucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = optimisticLockRetry.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(TimeSlot.class, 1L);
+            }
+            return "saved";
+        });
+
+        assertEquals("saved", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void execute_givesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> optimisticLockRetry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(TimeSlot.class, 1L);
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void execute_doesNotRetryStaleClientVersion() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(StaleVersionException.class, () -> optimisticLockRetry.execute(() -> {
+            attempts.incrementAndGet();
+            OptimisticLockRetry.checkVersion(TimeSlot.class, 1L, 0L, 1L);
+            return null;
+        }));
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.restaurantbookingservice.service;
+
+import com.example.restaurantbookingservice.model.Restaurant;
+import com.example.restaurantbookingservice.model.RestaurantTable;
+import com.example.restaurantbookingservice.model.TimeSlot;
+import com.example.restaurantbookingservice.repository.ResourceVersionRepository;
+import com.example.restaurantbookingservice.repository.RestaurantRepository;
+import com.example.restaurantbookingservice.repository.RestaurantTableRepository;
+import com.example.restaurantbookingservice.repository.TimeSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ResourceVersionServiceTest {
+
+    @Autowired
+    private ResourceVersionRepository resourceVersionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    // Two application instances sharing one database.
+    private ResourceVersionService local;
+    private ResourceVersionService remote;
+
+    @BeforeEach
+    void setUp() {
+        local = newInstance();
+        remote = newInstance();
+    }
+
+    @Test
+    void writeOnAnotherInstance_isSeenOnceTheLocalCopyExpires() throws Exception {
+        ResourceVersionService.Version before = local.tablesOfRestaurant(9001L);
+
+        remote.tablesChanged(9001L);
+
+        assertEquals(before.getETag(), local.tablesOfRestaurant(9001L).getETag());
+        assertNotEquals(before.getETag(), remote.tablesOfRestaurant(9001L).getETag());
+        Thread.sleep(300);
+        assertEquals(remote.tablesOfRestaurant(9001L).getETag(), local.tablesOfRestaurant(9001L).getETag());
+    }
+
+    @Test
+    void writeThatRollsBack_doesNotChangeTheVersion() {
+        ResourceVersionService.Version before = remote.timeSlotsOfTable(9002L);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            remote.timeSlotsChanged(9002L);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(before.getETag(), remote.timeSlotsOfTable(9002L).getETag());
+        remote.timeSlotsChanged(9002L);
+        assertNotEquals(before.getETag(), remote.timeSlotsOfTable(9002L).getETag());
+    }
+
+    @Test
+    void seatClaim_changesTheSlotListVersionWithoutACounterRow() {
+        Restaurant restaurant = restaurantRepository.save(new Restaurant("Versioned", "Main Street", "1234567890",
+                "v@test.com"));
+        RestaurantTable table = restaurantTableRepository.save(new RestaurantTable(1, 4, restaurant));
+        TimeSlot timeSlot = timeSlotRepository.save(new TimeSlot(LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(1).plusHours(2), table));
+        try {
+            ResourceVersionService.Version before = local.timeSlotsOfTable(table.getId());
+
+            transactionTemplate.executeWithoutResult(status -> {
+                timeSlotRepository.claimSeats(timeSlot.getId(), 1);
+                local.seatsChanged(table.getId());
+            });
+
+            assertNotEquals(before.getETag(), local.timeSlotsOfTable(table.getId()).getETag());
+            assertTrue(resourceVersionRepository.findCounterAndLastModifiedByName("timeslots:" + table.getId())
+                    .isEmpty());
+        } finally {
+            timeSlotRepository.deleteById(timeSlot.getId());
+            restaurantTableRepository.deleteById(table.getId());
+            restaurantRepository.deleteById(restaurant.getId());
+        }
+    }
+
+    private ResourceVersionService newInstance() {
+        ResourceVersionService service = new ResourceVersionService(Duration.ofMillis(200));
+        ReflectionTestUtils.setField(service, "resourceVersionRepository", resourceVersionRepository);
+        ReflectionTestUtils.setField(service, "timeSlotRepository", timeSlotRepository);
+        ReflectionTestUtils.setField(service, "transactionTemplate", transactionTemplate);
+        return service;
+    }
+}
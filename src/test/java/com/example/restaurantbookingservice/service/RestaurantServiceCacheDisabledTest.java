@@ -0,0 +1,64 @@
+package com.example.restaurantbookingservice.service;
+
+import com.example.restaurantbookingservice.config.CacheConfig;
+import com.example.restaurantbookingservice.dto.RestaurantDto;
+import com.example.restaurantbookingservice.repository.RestaurantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "restaurantbookingservice.app.cache.restaurants.enabled=false")
+@ActiveProfiles("test")
+class RestaurantServiceCacheDisabledTest {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @MockitoSpyBean
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private RestaurantDto saved;
+
+    @BeforeEach
+    void setUp() {
+        RestaurantDto restaurantDto = new RestaurantDto();
+        restaurantDto.setName("Uncached");
+        saved = restaurantService.addRestaurant(restaurantDto);
+    }
+
+    @AfterEach
+    void tearDown() {
+        restaurantRepository.deleteById(saved.getId());
+    }
+
+    @Test
+    void restaurantReads_goToTheRepositoryEveryTime() {
+        restaurantService.getRestaurantById(saved.getId());
+        restaurantService.getRestaurantById(saved.getId());
+        restaurantService.getAllRestaurants();
+        restaurantService.getAllRestaurants();
+
+        verify(restaurantRepository, times(2)).findDtoById(saved.getId());
+        verify(restaurantRepository, times(2)).findAllDtos();
+    }
+
+    @Test
+    void userDetailsCache_isKept() {
+        assertInstanceOf(CaffeineCache.class, cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE));
+        assertInstanceOf(NoOpCache.class, cacheManager.getCache(CacheConfig.RESTAURANTS_CACHE));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.restaurantbookingservice.service;
+
+import com.example.restaurantbookingservice.config.CacheConfig;
+import com.example.restaurantbookingservice.dto.RestaurantDto;
+import com.example.restaurantbookingservice.repository.RestaurantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RestaurantServiceCacheTest {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @MockitoSpyBean
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private RestaurantDto saved;
+    private final List<Long> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.RESTAURANTS_CACHE).clear();
+        cacheManager.getCache(CacheConfig.RESTAURANT_CACHE).clear();
+        RestaurantDto restaurantDto = new RestaurantDto();
+        restaurantDto.setName("Cached");
+        saved = restaurantService.addRestaurant(restaurantDto);
+        created.add(saved.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        created.stream().filter(restaurantRepository::existsById).forEach(restaurantRepository::deleteById);
+    }
+
+    @Test
+    void getRestaurantById_isServedFromCache() {
+        RestaurantDto first = restaurantService.getRestaurantById(saved.getId());
+        RestaurantDto second = restaurantService.getRestaurantById(saved.getId());
+
+        assertSame(first, second);
+        verify(restaurantRepository, times(1)).findDtoById(saved.getId());
+    }
+
+    @Test
+    void addRestaurant_evictsCatalog() {
+        List<RestaurantDto> before = restaurantService.getAllRestaurants();
+        assertSame(before, restaurantService.getAllRestaurants());
+
+        RestaurantDto restaurantDto = new RestaurantDto();
+        restaurantDto.setName("Added");
+        created.add(restaurantService.addRestaurant(restaurantDto).getId());
+
+        assertEquals(before.size() + 1, restaurantService.getAllRestaurants().size());
+        verify(restaurantRepository, times(2)).findAllDtos();
+    }
+
+    @Test
+    void deleteRestaurant_evictsCatalogAndEntry() {
+        restaurantService.getAllRestaurants();
+        restaurantService.getRestaurantById(saved.getId());
+
+        restaurantService.deleteRestaurant(saved.getId());
+
+        assertEquals(0, restaurantService.getAllRestaurants().stream()
+                .filter(restaurant -> restaurant.getId().equals(saved.getId())).count());
+        assertNull(restaurantService.getRestaurantById(saved.getId()));
+    }
+}
@@ -28,6 +28,9 @@ class RestaurantServiceTest {
     @Mock
     RestaurantMapper restaurantMapper;
 
+    @Mock
+    ResourceVersionService resourceVersionService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -35,37 +38,31 @@ class RestaurantServiceTest {
 
     @Test
     void getAllRestaurants() {
-        Restaurant restaurant1 = new Restaurant("Restaurant 1", "Address 1", "1234567890", "r1@email.com");
-        Restaurant restaurant2 = new Restaurant("Restaurant 2", "Address 2", "0987654321", "r2@email.com");
-        List<Restaurant> restaurants = Arrays.asList(restaurant1, restaurant2);
         RestaurantDto restaurantDto1 = new RestaurantDto();
         restaurantDto1.setName("Restaurant 1");
         RestaurantDto restaurantDto2 = new RestaurantDto();
         restaurantDto2.setName("Restaurant 2");
 
-        when(restaurantRepository.findAll()).thenReturn(restaurants);
-        when(restaurantMapper.toDto(restaurant1)).thenReturn(restaurantDto1);
-        when(restaurantMapper.toDto(restaurant2)).thenReturn(restaurantDto2);
+        when(restaurantRepository.findAllDtos()).thenReturn(Arrays.asList(restaurantDto1, restaurantDto2));
 
         List<RestaurantDto> result = restaurantService.getAllRestaurants();
 
         assertEquals(2, result.size());
-        verify(restaurantRepository, times(1)).findAll();
+        verify(restaurantRepository, times(1)).findAllDtos();
+        verify(restaurantRepository, never()).findAll();
     }
 
     @Test
     void getRestaurantById() {
-        Restaurant restaurant = new Restaurant("Restaurant 1", "Address 1", "1234567890", "r1@email.com");
         RestaurantDto restaurantDto = new RestaurantDto();
         restaurantDto.setName("Restaurant 1");
 
-        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
-        when(restaurantMapper.toDto(restaurant)).thenReturn(restaurantDto);
+        when(restaurantRepository.findDtoById(1L)).thenReturn(Optional.of(restaurantDto));
 
         RestaurantDto result = restaurantService.getRestaurantById(1L);
 
         assertEquals("Restaurant 1", result.getName());
-        verify(restaurantRepository, times(1)).findById(1L);
+        verify(restaurantRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -82,6 +79,7 @@ class RestaurantServiceTest {
 
         assertEquals("Restaurant 1", result.getName());
         verify(restaurantRepository, times(1)).save(restaurant);
+        verify(resourceVersionService, times(1)).restaurantsChanged();
     }
 
     @Test
@@ -0,0 +1,96 @@
+package com.example.restaurantbookingservice.service;
+
+import com.example.restaurantbookingservice.dto.RestaurantTableDto;
+import com.example.restaurantbookingservice.dto.TableAllocationDto;
+import com.example.restaurantbookingservice.repository.RestaurantTableRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TableAllocationServiceTest {
+
+    private static final Long RESTAURANT_ID = 1L;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 19, 0);
+    private static final LocalDateTime END = START.plusHours(2);
+
+    @InjectMocks
+    TableAllocationService tableAllocationService;
+
+    @Mock
+    RestaurantTableRepository restaurantTableRepository;
+
+    @Mock
+    AvailabilityService availabilityService;
+
+    @Mock
+    ResourceVersionService resourceVersionService;
+
+    private final List<Object[]> links = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(resourceVersionService.tablesOfRestaurant(RESTAURANT_ID))
+                .thenAnswer(invocation -> new ResourceVersionService.Version(1, 0));
+        // Tables 10 and 11 seat four, 12 seats six and 13 seats eight; 10-11 and 11-12 can be joined.
+        when(restaurantTableRepository.findDtosByRestaurantId(RESTAURANT_ID)).thenReturn(List.of(
+                new RestaurantTableDto(10L, 1, 4, RESTAURANT_ID, 0L),
+                new RestaurantTableDto(11L, 2, 4, RESTAURANT_ID, 0L),
+                new RestaurantTableDto(12L, 3, 6, RESTAURANT_ID, 0L),
+                new RestaurantTableDto(13L, 4, 8, RESTAURANT_ID, 0L)));
+        links.add(new Object[]{10L, 11L});
+        links.add(new Object[]{11L, 12L});
+        when(restaurantTableRepository.findJoinableIdPairsByRestaurantId(RESTAURANT_ID)).thenReturn(links);
+        when(availabilityService.isTableFree(anyLong(), any(), any())).thenReturn(true);
+        when(availabilityService.findFreeTimeSlotIds(anyLong(), any(), any()))
+                .thenAnswer(invocation -> List.of((Long) invocation.getArgument(0) * 100));
+    }
+
+    @Test
+    void allocate_prefersTheSmallestSingleTableThatFits() {
+        TableAllocationDto allocation = tableAllocationService.allocate(RESTAURANT_ID, 5, START, END);
+
+        assertEquals(List.of(12L), allocation.getRestaurantTableIds());
+        assertEquals(6, allocation.getCapacity());
+        assertEquals(List.of(1200L), allocation.getTimeSlotIds());
+    }
+
+    @Test
+    void allocate_joinsAdjacentTablesWithTheFewestSpareSeats() {
+        TableAllocationDto allocation = tableAllocationService.allocate(RESTAURANT_ID, 10, START, END);
+
+        assertEquals(List.of(11L, 12L), allocation.getRestaurantTableIds());
+        assertEquals(10, allocation.getCapacity());
+    }
+
+    @Test
+    void allocate_skipsBusyTablesAndRebuildsTheGraphWhenTablesChange() {
+        when(availabilityService.isTableFree(eq(12L), any(), any())).thenReturn(false);
+
+        assertNull(tableAllocationService.allocate(RESTAURANT_ID, 10, START, END));
+
+        links.add(new Object[]{10L, 13L});
+        assertNull(tableAllocationService.allocate(RESTAURANT_ID, 10, START, END));
+        when(resourceVersionService.tablesOfRestaurant(RESTAURANT_ID))
+                .thenReturn(new ResourceVersionService.Version(2, 0));
+        TableAllocationDto allocation = tableAllocationService.allocate(RESTAURANT_ID, 10, START, END);
+
+        assertEquals(List.of(10L, 13L), allocation.getRestaurantTableIds());
+        verify(restaurantTableRepository, times(2)).findJoinableIdPairsByRestaurantId(RESTAURANT_ID);
+    }
+}
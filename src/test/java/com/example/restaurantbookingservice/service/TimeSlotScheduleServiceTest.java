@@ -0,0 +1,113 @@
+package com.example.restaurantbookingservice.service;
+
+import com.example.restaurantbookingservice.dto.TimeSlotScheduleDto;
+import com.example.restaurantbookingservice.model.Restaurant;
+import com.example.restaurantbookingservice.model.RestaurantTable;
+import com.example.restaurantbookingservice.model.TimeSlot;
+import com.example.restaurantbookingservice.repository.RestaurantRepository;
+import com.example.restaurantbookingservice.repository.RestaurantTableRepository;
+import com.example.restaurantbookingservice.repository.TimeSlotRepository;
+import com.example.restaurantbookingservice.repository.TimeSlotScheduleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TimeSlotScheduleServiceTest {
+
+    @Autowired
+    private TimeSlotScheduleService timeSlotScheduleService;
+
+    @Autowired
+    private TimeSlotScheduleRepository timeSlotScheduleRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    private Restaurant restaurant;
+    private RestaurantTable table1;
+    private RestaurantTable table2;
+
+    @BeforeEach
+    void setUp() {
+        restaurant = restaurantRepository.save(new Restaurant("Scheduled", "Main Street", "1234567890", "s@test.com"));
+        table1 = restaurantTableRepository.save(new RestaurantTable(1, 2, restaurant));
+        table2 = restaurantTableRepository.save(new RestaurantTable(2, 4, restaurant));
+    }
+
+    @AfterEach
+    void tearDown() {
+        timeSlotScheduleRepository.deleteAll();
+        for (RestaurantTable table : new RestaurantTable[]{table1, table2}) {
+            timeSlotRepository.deleteAll(timeSlotRepository.findByRestaurantTableId(table.getId()));
+            restaurantTableRepository.deleteById(table.getId());
+        }
+        restaurantRepository.deleteById(restaurant.getId());
+    }
+
+    @Test
+    void addSchedule_forRestaurant_generatesSlotsForEveryTableOnce() {
+        TimeSlotScheduleDto scheduleDto = schedule(LocalTime.of(10, 0), LocalTime.of(12, 0), 30, 3);
+        scheduleDto.setRestaurantId(restaurant.getId());
+
+        TimeSlotScheduleDto saved = timeSlotScheduleService.addSchedule(scheduleDto);
+
+        assertNotNull(saved);
+        assertEquals(LocalDate.now().plusDays(2), saved.getGeneratedThrough());
+        assertEquals(12, timeSlotRepository.findByRestaurantTableId(table1.getId()).size());
+        assertEquals(12, timeSlotRepository.findByRestaurantTableId(table2.getId()).size());
+
+        assertEquals(0, timeSlotScheduleService.generateTimeSlots(saved.getId()));
+        assertEquals(12, timeSlotRepository.findByRestaurantTableId(table1.getId()).size());
+    }
+
+    @Test
+    void addSchedule_forTable_skipsExistingStartTimes() {
+        LocalTime opening = LocalTime.of(18, 0);
+        timeSlotRepository.save(new TimeSlot(LocalDate.now().atTime(opening), LocalDate.now().atTime(19, 0), table1));
+        TimeSlotScheduleDto scheduleDto = schedule(opening, LocalTime.of(21, 0), 60, 2);
+        scheduleDto.setRestaurantTableId(table1.getId());
+
+        timeSlotScheduleService.addSchedule(scheduleDto);
+
+        assertEquals(6, timeSlotRepository.findByRestaurantTableId(table1.getId()).size());
+        assertEquals(0, timeSlotRepository.findByRestaurantTableId(table2.getId()).size());
+    }
+
+    @Test
+    void addSchedule_withClosingBeforeOpening_returnsNull() {
+        TimeSlotScheduleDto scheduleDto = schedule(LocalTime.of(22, 0), LocalTime.of(2, 0), 60, 2);
+        scheduleDto.setRestaurantId(restaurant.getId());
+
+        assertNull(timeSlotScheduleService.addSchedule(scheduleDto));
+    }
+
+    private static TimeSlotScheduleDto schedule(LocalTime opening, LocalTime closing, int slotMinutes, int horizonDays) {
+        TimeSlotScheduleDto scheduleDto = new TimeSlotScheduleDto();
+        scheduleDto.setOpeningTime(opening);
+        scheduleDto.setClosingTime(closing);
+        scheduleDto.setSlotMinutes(slotMinutes);
+        scheduleDto.setDaysOfWeek(EnumSet.allOf(DayOfWeek.class));
+        scheduleDto.setHorizonDays(horizonDays);
+        return scheduleDto;
+    }
+}